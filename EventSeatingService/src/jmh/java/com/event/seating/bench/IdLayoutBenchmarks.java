@@ -0,0 +1,144 @@
+package com.event.seating.bench;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.event.seating.model.Uuids;
+
+/**
+ * Batched inserts into a seat_hold-shaped table (primary key plus a hold_token index) per id layout:
+ * - v4-text: random UUIDs as VARCHAR(36), the layout before ids became BINARY(16).
+ * - v4-binary: the same random ids packed into BINARY(16) (smaller keys, still random placement).
+ * - v7-binary: time-ordered UUIDv7 as BINARY(16), what the service writes now.
+ * preloadRows fills the table first, so inserts land in an index that no longer fits in cache.
+ * The default URL is in-memory H2, which only shows the key-size part; the clustered-index effect needs InnoDB:
+ *   mvn -P jmh -DskipTests verify -Djmh.args="IdLayoutBenchmarks -p jdbcUrl=jdbc:mysql://localhost:3306/bench?rewriteBatchedStatements=true
+ *     -p user=root -p password=root -p preloadRows=5000000"
+ * On MySQL each trial also prints the table's data/index size and the buffer pool hit rate during the run.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IdLayoutBenchmarks {
+
+    static final int BATCH = 100;
+
+    @Param({"v4-text", "v4-binary", "v7-binary"})
+    public String layout;
+
+    @Param({"0", "200000"})
+    public int preloadRows;
+
+    @Param({"jdbc:h2:mem:id-bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"})
+    public String jdbcUrl;
+
+    @Param({"sa"})
+    public String user;
+
+    @Param({""})
+    public String password;
+
+    Connection conn;
+    PreparedStatement insert;
+    String table;
+    long[] poolBefore;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        conn = DriverManager.getConnection(jdbcUrl, user, password);
+        table = "bench_seat_hold_" + layout.replace('-', '_');
+        String idType = layout.endsWith("binary") ? "BINARY(16)" : "VARCHAR(36)";
+        try (Statement st = conn.createStatement()) {
+            st.execute("DROP TABLE IF EXISTS " + table);
+            st.execute("CREATE TABLE " + table + " (id " + idType + " NOT NULL PRIMARY KEY, hold_token " + idType + " NOT NULL,"
+                    + " event_seat_id " + idType + " NOT NULL, event_id VARCHAR(36), user_id VARCHAR(36),"
+                    + " hold_expiry TIMESTAMP NOT NULL, created_at TIMESTAMP NOT NULL)");
+            st.execute("CREATE INDEX idx_" + table + "_hold_token ON " + table + " (hold_token)");
+        }
+        conn.setAutoCommit(false);
+        insert = conn.prepareStatement("INSERT INTO " + table
+                + " (id, hold_token, event_seat_id, event_id, user_id, hold_expiry, created_at) VALUES (?,?,?,?,?,?,?)");
+        for (int done = 0; done < preloadRows; done += BATCH) {
+            insertBatch();
+        }
+        poolBefore = bufferPoolCounters();
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() throws SQLException {
+        long[] poolAfter = bufferPoolCounters();
+        if (poolAfter != null) {
+            long requests = poolAfter[0] - poolBefore[0];
+            long diskReads = poolAfter[1] - poolBefore[1];
+            try (Statement st = conn.createStatement();
+                 ResultSet rs = st.executeQuery("SELECT data_length, index_length FROM information_schema.tables"
+                         + " WHERE table_schema = DATABASE() AND table_name = '" + table + "'")) {
+                if (rs.next()) {
+                    System.out.printf("%n%s: data %d MB, indexes %d MB, buffer pool hit rate %.4f (%d disk reads)%n",
+                            layout, rs.getLong(1) >> 20, rs.getLong(2) >> 20,
+                            requests == 0 ? 1.0 : 1.0 - (double) diskReads / requests, diskReads);
+                }
+            }
+        }
+        try (Statement st = conn.createStatement()) {
+            st.execute("DROP TABLE IF EXISTS " + table);
+        }
+        conn.commit();
+        conn.close();
+    }
+
+    /** One reserve's worth of seat lines times BATCH, committed together. */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void insertBatch() throws SQLException {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        Object token = newId();
+        for (int i = 0; i < BATCH; i++) {
+            if (i % 4 == 0) token = newId();
+            insert.setObject(1, newId());
+            insert.setObject(2, token);
+            insert.setObject(3, newId());
+            insert.setString(4, "bench-event");
+            insert.setString(5, "bench-user");
+            insert.setTimestamp(6, now);
+            insert.setTimestamp(7, now);
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        conn.commit();
+    }
+
+    private Object newId() {
+        return switch (layout) {
+            case "v4-text" -> UUID.randomUUID().toString();
+            case "v4-binary" -> Uuids.toBytes(UUID.randomUUID().toString());
+            default -> Uuids.toBytes(Uuids.newId());
+        };
+    }
+
+    // {read requests, reads that missed the pool}; null on databases other than MySQL
+    private long[] bufferPoolCounters() throws SQLException {
+        if (!jdbcUrl.startsWith("jdbc:mysql:")) return null;
+        long[] c = new long[2];
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SHOW GLOBAL STATUS WHERE Variable_name IN"
+                     + " ('Innodb_buffer_pool_read_requests', 'Innodb_buffer_pool_reads')")) {
+            while (rs.next()) {
+                c[rs.getString(1).endsWith("read_requests") ? 0 : 1] = rs.getLong(2);
+            }
+        }
+        return c;
+    }
+}
@@ -0,0 +1,255 @@
+package com.event.seating.bench;
+
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerCustomizer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.event.seating.EventTestingApplication;
+import com.event.seating.dto.AllocateRequest;
+import com.event.seating.dto.ReserveRequest;
+import com.event.seating.dto.SeatCreateRequest;
+import com.event.seating.model.Events;
+import com.event.seating.model.Uuids;
+import com.event.seating.scheduler.HoldExpiryScheduler;
+import com.event.seating.service.SeatAvailabilityIndex;
+import com.event.seating.service.SeatingService;
+
+/**
+ * Hot paths of the seating service against in-memory H2 (profile "bench").
+ * - seatsPerEvent: size of every benchmark event.
+ * - historicalHolds: RELEASED single-seat holds seeded per event, as left behind by past on-sales.
+ * - Thread count is the JMH -t option (jmh.threads in the Maven profile).
+ * Reserve/allocate/release work on a per-thread event so seats are never contended; the seat map read
+ * uses one shared event.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SeatingBenchmarks {
+
+    static final String HISTORY_USER = "bench-history";
+    static final String EXPIRED_USER = "bench-expired";
+    static final int EXPIRED_PER_SWEEP = 100;
+
+    @State(Scope.Benchmark)
+    public static class App {
+        @Param({"1000", "7300"})
+        public int seatsPerEvent;
+
+        @Param({"0", "100000"})
+        public int historicalHolds;
+
+        ConfigurableApplicationContext ctx;
+        SeatingService seating;
+        SeatAvailabilityIndex index;
+        HoldExpiryScheduler expiry;
+        JdbcTemplate jdbc;
+        String sharedEventId;
+        final AtomicInteger eventSeq = new AtomicInteger();
+
+        @Setup(Level.Trial)
+        public void start() {
+            ctx = new SpringApplicationBuilder(EventTestingApplication.class, BenchScheduling.class)
+                    .web(WebApplicationType.NONE)
+                    .profiles("bench")
+                    .run();
+            try {
+                seating = ctx.getBean(SeatingService.class);
+                index = ctx.getBean(SeatAvailabilityIndex.class);
+                expiry = ctx.getBean(HoldExpiryScheduler.class);
+                jdbc = ctx.getBean(JdbcTemplate.class);
+                sharedEventId = createEvent();
+            } catch (RuntimeException ex) {
+                // JMH skips the trial teardown after a failed setup; close here so the scheduler stops
+                ctx.close();
+                throw ex;
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            ctx.close();
+        }
+
+        String createEvent() {
+            String eventId = "bench-" + eventSeq.incrementAndGet();
+            Events e = new Events();
+            e.setEventId(eventId);
+            e.setEventName("Benchmark " + eventId);
+            seating.addEvent(e);
+
+            List<SeatCreateRequest> seats = new ArrayList<>(seatsPerEvent);
+            for (int i = 0; i < seatsPerEvent; i++) {
+                SeatCreateRequest s = new SeatCreateRequest();
+                s.setSeatCode(seatCode(i));
+                s.setSection("S" + (i / 1000));
+                s.setRowLabel(Integer.toString((i % 1000) / 25));
+                s.setSeatNumber(i % 25 + 1);
+                seats.add(s);
+            }
+            seating.addSeatsToEvent(eventId, seats);
+            seedHistory(eventId);
+            return eventId;
+        }
+
+        private void seedHistory(String eventId) {
+            if (historicalHolds == 0) return;
+            List<Map<String, Object>> seats = jdbc.queryForList("SELECT id, seat_code FROM event_seat WHERE event_id = ?", eventId);
+            Timestamp past = Timestamp.from(OffsetDateTime.now().minusDays(30).toInstant());
+            List<Object[]> headers = new ArrayList<>(historicalHolds);
+            List<Object[]> lines = new ArrayList<>(historicalHolds);
+            for (int i = 0; i < historicalHolds; i++) {
+                byte[] token = newId();
+                Map<String, Object> seat = seats.get(i % seats.size());
+                headers.add(new Object[]{token, eventId, HISTORY_USER, "RELEASED", past, past});
+                lines.add(new Object[]{newId(), token, seat.get("id"), eventId, HISTORY_USER, past, past});
+            }
+            // released holds no longer claim their seats
+            insertHolds(jdbc, headers, lines, List.of());
+        }
+
+        /** Drops every hold of the event except the seeded history, so all its seats are free again. */
+        void reset(String eventId) {
+            jdbc.update("DELETE FROM seat_claim WHERE event_seat_id IN (SELECT id FROM event_seat WHERE event_id = ?)", eventId);
+            jdbc.update("DELETE FROM seat_hold WHERE event_id = ? AND user_id <> ?", eventId, HISTORY_USER);
+            jdbc.update("DELETE FROM hold WHERE event_id = ? AND user_id <> ?", eventId, HISTORY_USER);
+            index.reload(eventId);
+        }
+    }
+
+    /** A per-thread event whose seats are handed out in order and recycled when they run out. */
+    @State(Scope.Thread)
+    public static class ThreadEvent {
+        String eventId;
+        int next;
+        int size;
+
+        @Setup(Level.Trial)
+        public void create(App app) {
+            eventId = app.createEvent();
+            size = app.seatsPerEvent;
+        }
+
+        String nextSeat(App app) {
+            if (next == size) {
+                app.reset(eventId);
+                next = 0;
+            }
+            return seatCode(next++);
+        }
+    }
+
+    /** A fresh hold on the thread's event, taken before each allocate/release invocation. */
+    @State(Scope.Thread)
+    public static class Held {
+        String holdToken;
+
+        @Setup(Level.Invocation)
+        public void hold(App app, ThreadEvent ev) {
+            holdToken = app.seating.reserve(reserveRequest(ev.eventId, ev.nextSeat(app))).getHoldToken();
+        }
+    }
+
+    /** EXPIRED_PER_SWEEP expired holds for the next expiry sweep to release. */
+    @State(Scope.Thread)
+    public static class Expired {
+        @Setup(Level.Invocation)
+        public void seed(App app, ThreadEvent ev) {
+            Timestamp past = Timestamp.from(OffsetDateTime.now().minusMinutes(5).toInstant());
+            List<Object[]> headers = new ArrayList<>(EXPIRED_PER_SWEEP);
+            List<Object[]> lines = new ArrayList<>(EXPIRED_PER_SWEEP);
+            List<Object[]> claims = new ArrayList<>(EXPIRED_PER_SWEEP);
+            for (int i = 0; i < EXPIRED_PER_SWEEP; i++) {
+                String seatCode = ev.nextSeat(app);
+                byte[] seatId = app.jdbc.queryForObject("SELECT id FROM event_seat WHERE event_id = ? AND seat_code = ?",
+                        byte[].class, ev.eventId, seatCode);
+                byte[] token = newId();
+                headers.add(new Object[]{token, ev.eventId, EXPIRED_USER, "HOLD", past, past});
+                lines.add(new Object[]{newId(), token, seatId, ev.eventId, EXPIRED_USER, past, past});
+                claims.add(new Object[]{seatId, token, past});
+            }
+            insertHolds(app.jdbc, headers, lines, claims);
+        }
+    }
+
+    @Benchmark
+    public Object reserve(App app, ThreadEvent ev) {
+        return app.seating.reserve(reserveRequest(ev.eventId, ev.nextSeat(app)));
+    }
+
+    @Benchmark
+    public void allocate(App app, Held held) {
+        AllocateRequest req = new AllocateRequest();
+        req.setHoldToken(held.holdToken);
+        req.setOrderId(UUID.randomUUID().toString());
+        app.seating.allocate(req);
+    }
+
+    @Benchmark
+    public void release(App app, Held held) {
+        app.seating.release(held.holdToken);
+    }
+
+    @Benchmark
+    public void getSeatStatusForEvent(App app, Blackhole bh) {
+        bh.consume(app.seating.getSeatStatusForEvent(app.sharedEventId));
+    }
+
+    @Benchmark
+    public void expireHolds(App app, Expired expired) {
+        app.expiry.expireHolds();
+    }
+
+    /** Writes hold headers, their seat lines and seat claims the way a reserve does, bypassing the service. */
+    static void insertHolds(JdbcTemplate jdbc, List<Object[]> headers, List<Object[]> lines, List<Object[]> claims) {
+        jdbc.batchUpdate("INSERT INTO hold (hold_token, event_id, user_id, status, hold_expiry, created_at)"
+                + " VALUES (?,?,?,?,?,?)", headers);
+        jdbc.batchUpdate("INSERT INTO seat_hold (id, hold_token, event_seat_id, event_id, user_id, hold_expiry, created_at)"
+                + " VALUES (?,?,?,?,?,?,?)", lines);
+        if (!claims.isEmpty()) {
+            jdbc.batchUpdate("INSERT INTO seat_claim (event_seat_id, hold_token, expires_at) VALUES (?,?,?)", claims);
+        }
+    }
+
+    /** Daemon scheduler threads, so a trial whose context was never closed cannot keep the forked VM alive. */
+    static class BenchScheduling {
+        @Bean
+        ThreadPoolTaskSchedulerCustomizer daemonSchedulerThreads() {
+            return scheduler -> scheduler.setDaemon(true);
+        }
+    }
+
+    // ids are BINARY(16) columns; raw JDBC binds their packed form
+    static byte[] newId() {
+        return Uuids.toBytes(Uuids.newId());
+    }
+
+    static String seatCode(int i) {
+        return "B" + i;
+    }
+
+    static ReserveRequest reserveRequest(String eventId, String seatCode) {
+        ReserveRequest req = new ReserveRequest();
+        req.setEventId(eventId);
+        req.setUserId("bench-" + ThreadLocalRandom.current().nextInt(10_000));
+        req.setSeatCodes(List.of(seatCode));
+        return req;
+    }
+}
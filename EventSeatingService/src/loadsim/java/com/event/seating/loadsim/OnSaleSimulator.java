@@ -0,0 +1,326 @@
+package com.event.seating.loadsim;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Flash-crowd on-sale against a running seating service (reserve -> allocate over REST).
+ * - N users arrive uniformly within the ramp; each picks seats, mostly from a small set of hot seats.
+ * - After a successful reserve a user either abandons the hold or allocates it after a delay.
+ * - Reports throughput, p50/p99/p999 latency per call, conflict rate, and checks that no seat was
+ *   allocated twice, both from the client's view and against the service's seat map afterwards.
+ * Options are --key=value, see {@link Options}. --seed-etsr-event=<id> first loads that event's seats
+ * from the etsr_seed dataset CSVs through the bulk import endpoint.
+ */
+public class OnSaleSimulator {
+
+    private final Options opt;
+    private final ObjectMapper json = new ObjectMapper();
+    private final HttpClient http;
+    private final ScheduledExecutorService pool;
+
+    private final Stats reserveStats = new Stats();
+    private final Stats allocateStats = new Stats();
+    private final AtomicLong abandoned = new AtomicLong();
+    private final AtomicLong transportErrors = new AtomicLong();
+    private final ConcurrentHashMap<String, String> allocatedBy = new ConcurrentHashMap<>();   // seat code -> hold token
+    private final Set<String> doubleAllocated = ConcurrentHashMap.newKeySet();
+
+    public OnSaleSimulator(Options opt) {
+        this.opt = opt;
+        this.pool = Executors.newScheduledThreadPool(opt.concurrency);
+        this.http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(4))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = Options.parse(args);
+        OnSaleSimulator sim = new OnSaleSimulator(opt);
+        try {
+            sim.run();
+        } finally {
+            sim.pool.shutdownNow();
+        }
+        System.exit(0);
+    }
+
+    void run() throws Exception {
+        if (opt.seedEtsrEvent != null) seedFromEtsr();
+
+        List<String> seats = seatCodes();
+        if (seats.isEmpty()) throw new IllegalStateException("Event " + opt.eventId + " has no seats");
+        int hot = Math.max(1, (int) (seats.size() * opt.hotSeatFraction));
+        System.out.printf("On-sale: event=%s seats=%d hot=%d users=%d concurrency=%d ramp=%ds%n",
+                opt.eventId, seats.size(), hot, opt.users, opt.concurrency, opt.rampSeconds);
+
+        CountDownLatch done = new CountDownLatch(opt.users);
+        long start = System.nanoTime();
+        for (int u = 0; u < opt.users; u++) {
+            String userId = "sim-" + u;
+            long arrivalMs = (long) (ThreadLocalRandom.current().nextDouble() * opt.rampSeconds * 1000);
+            pool.schedule(() -> user(userId, seats, hot, done), arrivalMs, TimeUnit.MILLISECONDS);
+        }
+        done.await();
+        double elapsedSec = (System.nanoTime() - start) / 1e9;
+
+        report(elapsedSec, verifyAgainstSeatMap());
+    }
+
+    // one user: reserve (retrying on conflict), then abandon or allocate after a delay
+    private void user(String userId, List<String> seats, int hot, CountDownLatch done) {
+        try {
+            for (int attempt = 0; attempt <= opt.retries; attempt++) {
+                List<String> pick = pickSeats(seats, hot);
+                ObjectNode req = json.createObjectNode().put("eventId", opt.eventId).put("userId", userId);
+                req.putArray("seatCodes").addAll(pick.stream().map(json.getNodeFactory()::textNode).toList());
+                HttpResponse<String> res = call(reserveStats, "/v1/seating/reserve", req);
+                if (res == null) break;
+                if (res.statusCode() / 100 == 2) {
+                    String token = json.readTree(res.body()).get("holdToken").asText();
+                    if (ThreadLocalRandom.current().nextDouble() < opt.abandonRate) {
+                        abandoned.incrementAndGet();
+                        break;
+                    }
+                    pool.schedule(() -> allocate(token, pick, done), opt.allocateAfterMs, TimeUnit.MILLISECONDS);
+                    return;
+                }
+            }
+            done.countDown();
+        } catch (Exception ex) {
+            transportErrors.incrementAndGet();
+            done.countDown();
+        }
+    }
+
+    private void allocate(String token, List<String> seats, CountDownLatch done) {
+        try {
+            ObjectNode req = json.createObjectNode().put("holdToken", token).put("orderId", UUID.randomUUID().toString());
+            HttpResponse<String> res = call(allocateStats, "/v1/seating/allocate", req);
+            if (res != null && res.statusCode() / 100 == 2) {
+                for (String seat : seats) {
+                    String prev = allocatedBy.putIfAbsent(seat, token);
+                    if (prev != null && !prev.equals(token)) doubleAllocated.add(seat);
+                }
+            }
+        } finally {
+            done.countDown();
+        }
+    }
+
+    private List<String> pickSeats(List<String> seats, int hot) {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        int n = 1 + rnd.nextInt(opt.seatsPerUser);
+        Set<String> pick = new LinkedHashSet<>();
+        while (pick.size() < Math.min(n, seats.size())) {
+            boolean wantsHot = rnd.nextDouble() < opt.hotTraffic || hot == seats.size();
+            int i = wantsHot ? rnd.nextInt(hot) : hot + rnd.nextInt(seats.size() - hot);
+            pick.add(seats.get(i));
+        }
+        return new ArrayList<>(pick);
+    }
+
+    private HttpResponse<String> call(Stats stats, String path, Object body) {
+        long t0 = System.nanoTime();
+        try {
+            HttpResponse<String> res = http.send(HttpRequest.newBuilder(URI.create(opt.baseUrl + path))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(json.writeValueAsString(body)))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            stats.record(System.nanoTime() - t0, res.statusCode());
+            return res;
+        } catch (IOException ex) {
+            transportErrors.incrementAndGet();
+            return null;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /** Seat codes in layout order; the front of the list is treated as the hot seats. */
+    private List<String> seatCodes() throws Exception {
+        JsonNode layout = getJson("/v1/seating/events/" + enc(opt.eventId) + "/layout");
+        List<String> codes = new ArrayList<>();
+        layout.get("seats").forEach(s -> codes.add(s.get("seatCode").asText()));
+        return codes;
+    }
+
+    /** Every allocation the client saw must be ALLOCATED under the same hold token in the seat map. */
+    private int verifyAgainstSeatMap() throws Exception {
+        JsonNode map = getJson("/v1/seating/events/" + enc(opt.eventId));
+        Map<String, JsonNode> byCode = new HashMap<>();
+        map.forEach(s -> byCode.put(s.get("seatCode").asText(), s));
+        int mismatches = 0;
+        for (Map.Entry<String, String> e : allocatedBy.entrySet()) {
+            JsonNode s = byCode.get(e.getKey());
+            if (s == null || !"ALLOCATED".equals(s.path("status").asText())
+                    || !e.getValue().equals(s.path("holdToken").asText())) {
+                mismatches++;
+            }
+        }
+        return mismatches;
+    }
+
+    private void seedFromEtsr() throws Exception {
+        Path dir = Path.of(opt.datasetDir);
+        String title = "etsr event " + opt.seedEtsrEvent;
+        for (String line : Files.readAllLines(dir.resolve("etsr_events.csv"))) {
+            String[] f = line.split(",", -1);
+            if (f[0].equals(opt.seedEtsrEvent)) title = f[2];
+        }
+        ObjectNode event = json.createObjectNode().put("eventId", opt.eventId).put("eventName", title);
+        send(HttpRequest.newBuilder(URI.create(opt.baseUrl + "/v1/seating/events"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json.writeValueAsString(event))));
+        String result = send(HttpRequest.newBuilder(URI.create(opt.baseUrl + "/v1/seating/events/" + enc(opt.eventId)
+                        + "/seats/import?sourceEventId=" + enc(opt.seedEtsrEvent)))
+                .header("Content-Type", "text/csv")
+                .POST(HttpRequest.BodyPublishers.ofFile(dir.resolve("etsr_seats.csv"))));
+        System.out.println("Seeded " + opt.eventId + " from etsr event " + opt.seedEtsrEvent + ": " + result);
+    }
+
+    private JsonNode getJson(String path) throws Exception {
+        return json.readTree(send(HttpRequest.newBuilder(URI.create(opt.baseUrl + path)).GET()));
+    }
+
+    private String send(HttpRequest.Builder req) throws Exception {
+        HttpResponse<String> res = http.send(req.timeout(Duration.ofSeconds(120)).build(), HttpResponse.BodyHandlers.ofString());
+        if (res.statusCode() / 100 != 2) {
+            throw new IllegalStateException(res.request().uri() + " -> " + res.statusCode() + " " + res.body());
+        }
+        return res.body();
+    }
+
+    private void report(double elapsedSec, int seatMapMismatches) throws IOException {
+        long requests = reserveStats.count() + allocateStats.count();
+        ObjectNode r = json.createObjectNode();
+        r.put("eventId", opt.eventId).put("users", opt.users).put("elapsedSec", elapsedSec)
+                .put("requestsPerSec", requests / elapsedSec)
+                .put("allocationsPerSec", allocatedBy.size() / elapsedSec)
+                .put("conflictRate", reserveStats.count() == 0 ? 0 : (double) reserveStats.rejected() / reserveStats.count())
+                .put("abandonedHolds", abandoned.get())
+                .put("seatsAllocated", allocatedBy.size())
+                .put("doubleAllocatedSeats", doubleAllocated.size())
+                .put("seatMapMismatches", seatMapMismatches)
+                .put("transportErrors", transportErrors.get());
+        r.set("reserve", reserveStats.toJson(json));
+        r.set("allocate", allocateStats.toJson(json));
+
+        System.out.println(json.writerWithDefaultPrettyPrinter().writeValueAsString(r));
+        if (opt.report != null) {
+            Files.writeString(Path.of(opt.report), json.writerWithDefaultPrettyPrinter().writeValueAsString(r));
+            System.out.println("Report written to " + opt.report);
+        }
+        if (!doubleAllocated.isEmpty() || seatMapMismatches > 0) {
+            System.out.println("DOUBLE ALLOCATION DETECTED: " + doubleAllocated);
+        }
+    }
+
+    private static String enc(String s) {
+        return URLEncoder.encode(s, StandardCharsets.UTF_8);
+    }
+
+    /** Latencies and status codes of one kind of call. */
+    static final class Stats {
+        private final ConcurrentLinkedQueue<Long> nanos = new ConcurrentLinkedQueue<>();
+        private final ConcurrentHashMap<Integer, AtomicLong> byStatus = new ConcurrentHashMap<>();
+
+        void record(long elapsedNanos, int status) {
+            nanos.add(elapsedNanos);
+            byStatus.computeIfAbsent(status, k -> new AtomicLong()).incrementAndGet();
+        }
+
+        long count() {
+            return nanos.size();
+        }
+
+        // the service answers a taken seat with a non-2xx status
+        long rejected() {
+            return byStatus.entrySet().stream().filter(e -> e.getKey() / 100 != 2).mapToLong(e -> e.getValue().get()).sum();
+        }
+
+        ObjectNode toJson(ObjectMapper json) {
+            long[] sorted = nanos.stream().mapToLong(Long::longValue).sorted().toArray();
+            ObjectNode n = json.createObjectNode().put("count", sorted.length)
+                    .put("p50Ms", percentile(sorted, 0.50)).put("p99Ms", percentile(sorted, 0.99))
+                    .put("p999Ms", percentile(sorted, 0.999))
+                    .put("maxMs", sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+            ObjectNode statuses = n.putObject("statuses");
+            new TreeMap<>(byStatus).forEach((k, v) -> statuses.put(Integer.toString(k), v.get()));
+            return n;
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) return 0;
+            int i = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(i, sorted.length - 1))] / 1e6;
+        }
+    }
+
+    /** Command line options (--key=value). */
+    static final class Options {
+        String baseUrl = "http://localhost:8080";
+        String eventId;
+        String seedEtsrEvent;
+        String datasetDir = "../etsr_seed dataset";
+        int users = 1000;
+        int concurrency = 200;
+        int rampSeconds = 10;
+        int seatsPerUser = 2;           // each user asks for 1..seatsPerUser seats
+        double hotSeatFraction = 0.05;  // share of seats (front of the layout) that are hot
+        double hotTraffic = 0.8;        // share of seat picks that go to hot seats
+        double abandonRate = 0.3;       // holds never allocated (left to expire)
+        long allocateAfterMs = 2000;
+        int retries = 2;                // re-picks after a rejected reserve
+        String report = "target/loadsim-report.json";
+
+        static Options parse(String[] args) {
+            Options o = new Options();
+            for (String a : args) {
+                if (!a.startsWith("--") || !a.contains("=")) throw new IllegalArgumentException("Expected --key=value: " + a);
+                String k = a.substring(2, a.indexOf('='));
+                String v = a.substring(a.indexOf('=') + 1);
+                switch (k) {
+                    case "base-url" -> o.baseUrl = v;
+                    case "event" -> o.eventId = v;
+                    case "seed-etsr-event" -> o.seedEtsrEvent = v;
+                    case "dataset-dir" -> o.datasetDir = v;
+                    case "users" -> o.users = Integer.parseInt(v);
+                    case "concurrency" -> o.concurrency = Integer.parseInt(v);
+                    case "ramp-seconds" -> o.rampSeconds = Integer.parseInt(v);
+                    case "seats-per-user" -> o.seatsPerUser = Integer.parseInt(v);
+                    case "hot-seat-fraction" -> o.hotSeatFraction = Double.parseDouble(v);
+                    case "hot-traffic" -> o.hotTraffic = Double.parseDouble(v);
+                    case "abandon-rate" -> o.abandonRate = Double.parseDouble(v);
+                    case "allocate-after-ms" -> o.allocateAfterMs = Long.parseLong(v);
+                    case "retries" -> o.retries = Integer.parseInt(v);
+                    case "report" -> o.report = v.isBlank() ? null : v;
+                    default -> throw new IllegalArgumentException("Unknown option: " + k);
+                }
+            }
+            if (o.eventId == null) {
+                if (o.seedEtsrEvent == null) throw new IllegalArgumentException("--event or --seed-etsr-event is required");
+                o.eventId = "etsr-" + o.seedEtsrEvent;
+            }
+            return o;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.event.seating.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Primary/replica DataSource pair, active only when seating.datasource.replica.jdbc-url is set.
+ * The primary pool is the one spring.datasource.* would have built; the replica pool binds
+ * seating.datasource.replica.* onto Hikari. JPA gets the routing DataSource behind a lazy proxy, so
+ * {@code @Transactional(readOnly = true)} methods read from the replica and everything else uses the primary.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "seating.datasource.replica", name = "jdbc-url")
+public class ReadReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource ds = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        ds.setPoolName("primary");
+        return ds;
+    }
+
+    @Bean
+    @ConfigurationProperties("seating.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource ds = new HikariDataSource();
+        ds.setPoolName("replica");
+        // the replica only ever serves read-only transactions
+        ds.setReadOnly(true);
+        return ds;
+    }
+
+    @Bean
+    public ReadReplicaRoutingDataSource routingDataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                                         @Qualifier("replicaDataSource") DataSource replica,
+                                                         MeterRegistry registry,
+                                                         @Value("${seating.datasource.routing.max-lag-seconds:0}") long maxLagSeconds,
+                                                         @Value("${seating.datasource.routing.lag-query:SHOW REPLICA STATUS}") String lagQuery,
+                                                         @Value("${seating.datasource.routing.lag-column:Seconds_Behind_Source}") String lagColumn) {
+        return new ReadReplicaRoutingDataSource(primary, replica, registry, maxLagSeconds, lagQuery, lagColumn);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadReplicaRoutingDataSource routing) {
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
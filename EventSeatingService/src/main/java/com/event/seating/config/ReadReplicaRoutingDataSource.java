@@ -0,0 +1,137 @@
+package com.event.seating.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+/**
+ * Sends connections of read-only transactions to the replica pool and everything else to the primary.
+ * - Must sit behind a LazyConnectionDataSourceProxy: the read-only flag is only known once the
+ *   transaction has started, which is after the transaction manager asks for a connection.
+ * - A probe checks the replica every probe-interval-ms. With max-lag-seconds set, a replica further behind
+ *   than that (or whose replication has stopped) is skipped until it catches up.
+ * - A replica that fails to hand out a connection is skipped until the next successful probe; the
+ *   transaction that hit the failure gets a primary connection instead.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicaRoutingDataSource.class);
+
+    enum Target { PRIMARY, REPLICA }
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final long maxLagSeconds;
+    private final String lagQuery;
+    private final String lagColumn;
+    private final Counter replicaReads;
+    private final Counter fallbacks;
+    private volatile boolean replicaUp = true;
+    // -1 until the first probe has measured it
+    private volatile long lagSeconds = -1;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica, MeterRegistry registry,
+                                        long maxLagSeconds, String lagQuery, String lagColumn) {
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLagSeconds = maxLagSeconds;
+        this.lagQuery = lagQuery;
+        this.lagColumn = lagColumn;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        this.replicaReads = Counter.builder("seating.datasource.replica.reads")
+                .description("Read-only transactions served by the replica")
+                .register(registry);
+        this.fallbacks = Counter.builder("seating.datasource.replica.fallbacks")
+                .description("Read-only transactions sent to the primary because the replica was down or lagging")
+                .register(registry);
+        Gauge.builder("seating.datasource.replica.up", this, r -> r.replicaUp ? 1 : 0)
+                .description("1 while read-only transactions are routed to the replica")
+                .register(registry);
+        Gauge.builder("seating.datasource.replica.lag", this, r -> r.lagSeconds)
+                .description("Replication lag in seconds at the last probe; -1 when not measured")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && replicaUp ? Target.REPLICA : Target.PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) return primary.getConnection();
+        if (replicaUp) {
+            try {
+                Connection c = replica.getConnection();
+                replicaReads.increment();
+                return c;
+            } catch (SQLException ex) {
+                markDown("connection failed: " + ex.getMessage());
+            }
+        }
+        fallbacks.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        // credentials belong to one pool; there is nothing to route
+        return primary.getConnection(username, password);
+    }
+
+    @Scheduled(fixedDelayString = "${seating.datasource.routing.probe-interval-ms:5000}")
+    public void probe() {
+        try (Connection c = replica.getConnection()) {
+            if (!c.isValid(2)) {
+                markDown("connection not valid");
+                return;
+            }
+            if (maxLagSeconds <= 0) {
+                markUp();
+                return;
+            }
+            long lag = measureLag(c);
+            lagSeconds = lag;
+            if (lag > maxLagSeconds) {
+                markDown(lag == Long.MAX_VALUE ? "replication stopped" : "lag " + lag + "s over " + maxLagSeconds + "s");
+            } else {
+                markUp();
+            }
+        } catch (SQLException ex) {
+            markDown("probe failed: " + ex.getMessage());
+        }
+    }
+
+    // a server that is not a replica returns no row and has no lag; a stopped replica reports NULL
+    private long measureLag(Connection c) throws SQLException {
+        try (Statement st = c.createStatement(); ResultSet rs = st.executeQuery(lagQuery)) {
+            if (!rs.next()) return 0;
+            Object v = rs.getObject(lagColumn);
+            return v == null ? Long.MAX_VALUE : ((Number) v).longValue();
+        }
+    }
+
+    private void markUp() {
+        if (!replicaUp) log.info("Read replica back in use for read-only transactions");
+        replicaUp = true;
+    }
+
+    private void markDown(String reason) {
+        if (replicaUp) log.warn("Read replica skipped, read-only transactions go to the primary: {}", reason);
+        replicaUp = false;
+    }
+}
@@ -1,24 +1,46 @@
 package com.event.seating.controller;
 
+import java.io.InputStream;
+import java.util.Base64;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.event.seating.dto.AllocateRequest;
+import com.event.seating.dto.AvailabilitySummaryDto;
+import com.event.seating.dto.CursorPage;
+import com.event.seating.dto.EventListingDto;
+import com.event.seating.dto.QueueTicketDto;
 import com.event.seating.dto.ReserveRequest;
 import com.event.seating.dto.ReserveResponse;
 import com.event.seating.dto.SeatCreateRequest;
+import com.event.seating.dto.SeatImportResult;
+import com.event.seating.dto.SeatLayoutDto;
 import com.event.seating.dto.SeatStatusDto;
+import com.event.seating.dto.SeatStatusVectorDto;
 import com.event.seating.model.EventSeat;
 import com.event.seating.model.Events;
+import com.event.seating.service.SeatImportService;
+import com.event.seating.service.SeatMapSnapshotCache;
+import com.event.seating.service.SeatStatusStreams;
 import com.event.seating.service.SeatingService;
+import com.event.seating.service.WaitingRoom;
 
 import jakarta.validation.Valid;
 
@@ -27,34 +49,56 @@ import jakarta.validation.Valid;
 public class SeatingController {
 	
 	private final SeatingService seatingService;
+	private final SeatMapSnapshotCache seatMapCache;
+	private final SeatStatusStreams seatStreams;
+	private final SeatImportService seatImport;
+	private final WaitingRoom waitingRoom;
 	
-	public SeatingController(SeatingService seatingService) {
+	public SeatingController(SeatingService seatingService, SeatMapSnapshotCache seatMapCache,
+			SeatStatusStreams seatStreams, SeatImportService seatImport, WaitingRoom waitingRoom) {
         this.seatingService = seatingService;
+        this.seatMapCache = seatMapCache;
+        this.seatStreams = seatStreams;
+        this.seatImport = seatImport;
+        this.waitingRoom = waitingRoom;
     }
 
+	/**
+	 * Writes accept an Idempotency-Key header as an alternative to the idempotencyKey body field;
+	 * the body field wins when both are given. Likewise X-Admission-Token for reserve's admissionToken.
+	 */
 	@PostMapping("/reserve" )
-    public ResponseEntity<ReserveResponse> reserve(@Valid @RequestBody ReserveRequest req) {
+    public ResponseEntity<ReserveResponse> reserve(@Valid @RequestBody ReserveRequest req,
+                                                   @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                                                   @RequestHeader(value = "X-Admission-Token", required = false) String admissionToken) {
+        if (req.getIdempotencyKey() == null) req.setIdempotencyKey(idempotencyKey);
+        if (req.getAdmissionToken() == null) req.setAdmissionToken(admissionToken);
         ReserveResponse resp = seatingService.reserve(req);
         return ResponseEntity.ok(resp);
     }
 
     @PostMapping("/allocate")
-    public ResponseEntity<String> allocate(@Valid @RequestBody AllocateRequest req) {
+    public ResponseEntity<String> allocate(@Valid @RequestBody AllocateRequest req,
+                                           @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        if (req.getIdempotencyKey() == null) req.setIdempotencyKey(idempotencyKey);
         seatingService.allocate(req);
         return ResponseEntity.ok("allocated");
     }
 
     @PostMapping("/release")
-    public ResponseEntity<String> release(@Valid @RequestBody com.event.seating.dto.ReleaseRequest req) {
-        seatingService.release(req.getHoldToken());
+    public ResponseEntity<String> release(@Valid @RequestBody com.event.seating.dto.ReleaseRequest req,
+                                          @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        String key = req.getIdempotencyKey() != null ? req.getIdempotencyKey() : idempotencyKey;
+        seatingService.release(req.getHoldToken(), key);
         return ResponseEntity.ok("released");
     }
     
+    // keyset pages: pass the response's next as ?after= to continue; each event carries its seat counts
     @GetMapping("/events")
-    public ResponseEntity<List<Events>> getAllEvents()
+    public ResponseEntity<CursorPage<EventListingDto>> getAllEvents(@RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", defaultValue = "100") int limit)
     {
-    	List<Events> events = seatingService.listEvents();
-    	return ResponseEntity.ok(events);
+    	return ResponseEntity.ok(seatingService.listEvents(after, limit));
     }
     
     @PostMapping("/events")
@@ -64,11 +108,73 @@ public class SeatingController {
     	return ResponseEntity.ok(eve);
     }
     
+    // served from the versioned snapshot cache; clients revalidate with If-None-Match and get 304 while unchanged
     @GetMapping("/events/{id}")
-	public ResponseEntity<List<SeatStatusDto>> getEventSeat(@PathVariable("id") String id)
+	public ResponseEntity<byte[]> getEventSeat(@PathVariable("id") String id, WebRequest request)
 	{
-    	    List<SeatStatusDto> eve = seatingService.getSeatStatusForEvent(id);
-		return ResponseEntity.ok(eve);
+    	    SeatMapSnapshotCache.Snapshot snap = seatMapCache.get(id);
+    	    if (request.checkNotModified(snap.getEtag())) {
+    	        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(snap.getEtag()).build();
+    	    }
+		return ResponseEntity.ok()
+				.eTag(snap.getEtag())
+				.cacheControl(CacheControl.noCache())
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(snap.getBody());
+    }
+
+    // immutable per layout version: ?v=<layoutVersion> URLs may be cached forever, plain ones revalidate by ETag
+    @GetMapping("/events/{id}/layout")
+    public ResponseEntity<SeatLayoutDto> getSeatLayout(@PathVariable("id") String id,
+            @RequestParam(value = "v", required = false) String v, WebRequest request) {
+        SeatLayoutDto layout = seatingService.getSeatLayout(id);
+        String etag = "\"" + layout.getLayoutVersion() + "\"";
+        CacheControl cache = layout.getLayoutVersion().equals(v)
+                ? CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable()
+                : CacheControl.noCache();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cache).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(cache).body(layout);
+    }
+
+    // available/held/allocated per event and section from in-memory counters; cheap enough for list badges
+    @GetMapping("/events/{id}/summary")
+    public ResponseEntity<AvailabilitySummaryDto> getAvailabilitySummary(@PathVariable("id") String id) {
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(seatingService.getAvailabilitySummary(id));
+    }
+
+    // 2 bits per seat by layout ordinal; a few KB even for large venues
+    @GetMapping(path = "/events/{id}/status", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<SeatStatusVectorDto> getSeatStatus(@PathVariable("id") String id) {
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(seatingService.getSeatStatusVector(id));
+    }
+
+    // raw vector only; hold expiries are in the JSON variant
+    @GetMapping(path = "/events/{id}/status", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<byte[]> getSeatStatusBits(@PathVariable("id") String id) {
+        SeatStatusVectorDto status = seatingService.getSeatStatusVector(id);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .header("X-Layout-Version", status.getLayoutVersion())
+                .header("X-Seat-Count", Integer.toString(status.getSeatCount()))
+                .body(Base64.getDecoder().decode(status.getStatusBits()));
+    }
+
+    // snapshot first, then only seat deltas as holds change
+    @GetMapping(path = "/events/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEventSeats(@PathVariable("id") String id) {
+        return seatStreams.subscribe(id);
+    }
+
+    // one page of the seat map with live status, in seat-code order; the full map stays on GET /events/{id}
+    @GetMapping("/events/{eventId}/seats")
+    public ResponseEntity<CursorPage<SeatStatusDto>> getSeatPage(@PathVariable("eventId") String eventId,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", defaultValue = "100") int limit,
+            @RequestParam(value = "section", required = false) String section,
+            @RequestParam(value = "status", required = false) String status) {
+        return ResponseEntity.ok(seatingService.getSeatStatusPage(eventId, after, limit, section, status));
     }
 
 	@PostMapping("/events/{eventId}/seats")
@@ -78,6 +184,42 @@ public class SeatingController {
 		return ResponseEntity.ok(saved);
 	}
 
+    // streaming bulk import: text/csv (header row) or application/x-ndjson (one SeatCreateRequest per line)
+    @PostMapping(path = "/events/{eventId}/seats/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<SeatImportResult> importSeats(@PathVariable("eventId") String eventId,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            @RequestParam(value = "sourceEventId", required = false) String sourceEventId,
+            InputStream body) {
+        SeatImportService.Format format = contentType.isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                ? SeatImportService.Format.CSV : SeatImportService.Format.NDJSON;
+        return ResponseEntity.ok(seatImport.importSeats(eventId, body, format, sourceEventId));
+    }
+
+    // waiting room: opened/closed per event by an operator, joined and polled by clients
+    @PostMapping("/events/{eventId}/waiting-room")
+    public ResponseEntity<Void> openWaitingRoom(@PathVariable("eventId") String eventId) {
+        waitingRoom.open(eventId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/events/{eventId}/waiting-room")
+    public ResponseEntity<Void> closeWaitingRoom(@PathVariable("eventId") String eventId) {
+        waitingRoom.close(eventId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/events/{eventId}/queue")
+    public ResponseEntity<QueueTicketDto> joinQueue(@PathVariable("eventId") String eventId,
+                                                    @RequestParam("userId") String userId) {
+        return ResponseEntity.ok(waitingRoom.join(eventId, userId));
+    }
+
+    @GetMapping("/events/{eventId}/queue/{ticketId}")
+    public ResponseEntity<QueueTicketDto> queueStatus(@PathVariable("eventId") String eventId,
+                                                      @PathVariable("ticketId") String ticketId) {
+        return ResponseEntity.ok(waitingRoom.status(eventId, ticketId));
+    }
+
     @GetMapping("/hold/{holdToken}")
     public ResponseEntity<?> getHold(@PathVariable String holdToken) {
         return seatingService.getHoldDetails(holdToken)
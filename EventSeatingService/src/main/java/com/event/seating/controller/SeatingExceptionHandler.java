@@ -0,0 +1,35 @@
+package com.event.seating.controller;
+
+import java.util.Map;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import com.event.seating.service.AdmissionDeniedException;
+import com.event.seating.service.EventNotFoundException;
+import com.event.seating.service.RateLimitExceededException;
+
+@RestControllerAdvice
+public class SeatingExceptionHandler {
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<Map<String, String>> rateLimited(RateLimitExceededException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                .body(Map.of("error", ex.getMessage()));
+    }
+
+    @ExceptionHandler(AdmissionDeniedException.class)
+    public ResponseEntity<Map<String, String>> admissionDenied(AdmissionDeniedException ex) {
+        HttpStatus status = ex.isExpired() ? HttpStatus.TOO_MANY_REQUESTS : HttpStatus.FORBIDDEN;
+        return ResponseEntity.status(status).body(Map.of("error", ex.getMessage()));
+    }
+
+    @ExceptionHandler(EventNotFoundException.class)
+    public ResponseEntity<Map<String, String>> eventNotFound(EventNotFoundException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", ex.getMessage()));
+    }
+}
@@ -7,10 +7,14 @@ public class AllocateRequest {
     private String holdToken;
     @NotBlank
     private String orderId;
+    private String idempotencyKey;
 
     public String getHoldToken() { return holdToken; }
     public void setHoldToken(String holdToken) { this.holdToken = holdToken; }
 
     public String getOrderId() { return orderId; }
     public void setOrderId(String orderId) { this.orderId = orderId; }
+
+    public String getIdempotencyKey() { return idempotencyKey; }
+    public void setIdempotencyKey(String idempotencyKey) { this.idempotencyKey = idempotencyKey; }
 }
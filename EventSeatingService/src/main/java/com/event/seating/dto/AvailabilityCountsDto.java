@@ -0,0 +1,38 @@
+package com.event.seating.dto;
+
+/**
+ * Seat counts of one section (or, with a null section, of a whole event); available = total - held - allocated.
+ */
+public class AvailabilityCountsDto {
+    private String section;
+    private long total;
+    private long available;
+    private long held;
+    private long allocated;
+
+    public AvailabilityCountsDto() {
+    }
+
+    public AvailabilityCountsDto(String section, long total, long held, long allocated) {
+        this.section = section;
+        this.total = total;
+        this.held = held;
+        this.allocated = allocated;
+        this.available = Math.max(0, total - held - allocated);
+    }
+
+    public String getSection() { return section; }
+    public void setSection(String section) { this.section = section; }
+
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+
+    public long getAvailable() { return available; }
+    public void setAvailable(long available) { this.available = available; }
+
+    public long getHeld() { return held; }
+    public void setHeld(long held) { this.held = held; }
+
+    public long getAllocated() { return allocated; }
+    public void setAllocated(long allocated) { this.allocated = allocated; }
+}
@@ -0,0 +1,37 @@
+package com.event.seating.dto;
+
+import java.util.List;
+
+/**
+ * Seat counts of an event, in total and per section in layout order, from the in-memory counters.
+ */
+public class AvailabilitySummaryDto {
+    private String eventId;
+    private long total;
+    private long available;
+    private long held;
+    private long allocated;
+    private List<AvailabilityCountsDto> sections;
+    private long asOf;              // epoch millis the counters were read at
+
+    public String getEventId() { return eventId; }
+    public void setEventId(String eventId) { this.eventId = eventId; }
+
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+
+    public long getAvailable() { return available; }
+    public void setAvailable(long available) { this.available = available; }
+
+    public long getHeld() { return held; }
+    public void setHeld(long held) { this.held = held; }
+
+    public long getAllocated() { return allocated; }
+    public void setAllocated(long allocated) { this.allocated = allocated; }
+
+    public List<AvailabilityCountsDto> getSections() { return sections; }
+    public void setSections(List<AvailabilityCountsDto> sections) { this.sections = sections; }
+
+    public long getAsOf() { return asOf; }
+    public void setAsOf(long asOf) { this.asOf = asOf; }
+}
@@ -0,0 +1,31 @@
+package com.event.seating.dto;
+
+/**
+ * An event in the events listing, with its seat counts for list badges.
+ */
+public class EventListingDto {
+    private String eventId;
+    private String eventName;
+    private long total;
+    private long available;
+    private long held;
+    private long allocated;
+
+    public String getEventId() { return eventId; }
+    public void setEventId(String eventId) { this.eventId = eventId; }
+
+    public String getEventName() { return eventName; }
+    public void setEventName(String eventName) { this.eventName = eventName; }
+
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+
+    public long getAvailable() { return available; }
+    public void setAvailable(long available) { this.available = available; }
+
+    public long getHeld() { return held; }
+    public void setHeld(long held) { this.held = held; }
+
+    public long getAllocated() { return allocated; }
+    public void setAllocated(long allocated) { this.allocated = allocated; }
+}
@@ -0,0 +1,39 @@
+package com.event.seating.dto;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * A hold transition as sent to other services. Delivery is at least once and, across instances, not
+ * strictly ordered: receivers key on holdToken and ignore a notification older than the last one applied.
+ */
+public class HoldNotification {
+    private String type;            // HELD | ALLOCATED | RELEASED | EXPIRED
+    private String holdToken;
+    private String eventId;
+    private String userId;          // when known to the transition
+    private String orderId;         // ALLOCATED only
+    private List<String> eventSeatIds;
+    private OffsetDateTime occurredAt;
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public String getHoldToken() { return holdToken; }
+    public void setHoldToken(String holdToken) { this.holdToken = holdToken; }
+
+    public String getEventId() { return eventId; }
+    public void setEventId(String eventId) { this.eventId = eventId; }
+
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+
+    public String getOrderId() { return orderId; }
+    public void setOrderId(String orderId) { this.orderId = orderId; }
+
+    public List<String> getEventSeatIds() { return eventSeatIds; }
+    public void setEventSeatIds(List<String> eventSeatIds) { this.eventSeatIds = eventSeatIds; }
+
+    public OffsetDateTime getOccurredAt() { return occurredAt; }
+    public void setOccurredAt(OffsetDateTime occurredAt) { this.occurredAt = occurredAt; }
+}
@@ -0,0 +1,41 @@
+package com.event.seating.dto;
+
+/**
+ * A client's place in an event's waiting room. Poll until admitted, then send admissionToken with the reserve.
+ */
+public class QueueTicketDto {
+    private String ticketId;
+    private String eventId;
+    private long position;
+    private boolean admitted;
+    private String admissionToken;
+    private Long admissionExpiresAt;
+    private long estimatedWaitMs;
+    private boolean soldOut;
+
+    public String getTicketId() { return ticketId; }
+    public void setTicketId(String ticketId) { this.ticketId = ticketId; }
+
+    public String getEventId() { return eventId; }
+    public void setEventId(String eventId) { this.eventId = eventId; }
+
+    // tickets still ahead of this one; 0 once admitted
+    public long getPosition() { return position; }
+    public void setPosition(long position) { this.position = position; }
+
+    public boolean isAdmitted() { return admitted; }
+    public void setAdmitted(boolean admitted) { this.admitted = admitted; }
+
+    public String getAdmissionToken() { return admissionToken; }
+    public void setAdmissionToken(String admissionToken) { this.admissionToken = admissionToken; }
+
+    // epoch millis
+    public Long getAdmissionExpiresAt() { return admissionExpiresAt; }
+    public void setAdmissionExpiresAt(Long admissionExpiresAt) { this.admissionExpiresAt = admissionExpiresAt; }
+
+    public long getEstimatedWaitMs() { return estimatedWaitMs; }
+    public void setEstimatedWaitMs(long estimatedWaitMs) { this.estimatedWaitMs = estimatedWaitMs; }
+
+    public boolean isSoldOut() { return soldOut; }
+    public void setSoldOut(boolean soldOut) { this.soldOut = soldOut; }
+}
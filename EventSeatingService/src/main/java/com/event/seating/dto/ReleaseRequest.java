@@ -6,10 +6,14 @@ public class ReleaseRequest {
     @NotBlank
     private String holdToken;
     private String reason;
+    private String idempotencyKey;
 
     public String getHoldToken() { return holdToken; }
     public void setHoldToken(String holdToken) { this.holdToken = holdToken; }
 
     public String getReason() { return reason; }
     public void setReason(String reason) { this.reason = reason; }
+
+    public String getIdempotencyKey() { return idempotencyKey; }
+    public void setIdempotencyKey(String idempotencyKey) { this.idempotencyKey = idempotencyKey; }
 }
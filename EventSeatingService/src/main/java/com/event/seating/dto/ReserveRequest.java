@@ -1,17 +1,43 @@
 package com.event.seating.dto;
 
-import jakarta.validation.constraints.NotEmpty;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.math.BigDecimal;
 import java.util.List;
 
+/**
+ * Either explicit seatCodes, or quantity for the best block of that many adjacent free seats,
+ * optionally limited to a section and a price band.
+ */
 public class ReserveRequest {
     @NotNull
     private String eventId;
     @NotNull
     private String userId;
-    @NotEmpty
+    @Size(max = 20)
     private List<String> seatCodes;
+    // one block of adjacent seats in a single row
+    @Min(1)
+    @Max(20)
+    private Integer quantity;
+    private String section;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
     private String idempotencyKey;
+    // required while the event's waiting room is open; not part of the request as seen by idempotency
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+    private String admissionToken;
+
+    @JsonIgnore
+    @AssertTrue(message = "either seatCodes or quantity is required")
+    public boolean isSeatSelectionValid() {
+        return (seatCodes != null && !seatCodes.isEmpty()) != (quantity != null);
+    }
 
     public String getEventId() { return eventId; }
     public void setEventId(String eventId) { this.eventId = eventId; }
@@ -22,6 +48,21 @@ public class ReserveRequest {
     public List<String> getSeatCodes() { return seatCodes; }
     public void setSeatCodes(List<String> seatCodes) { this.seatCodes = seatCodes; }
 
+    public Integer getQuantity() { return quantity; }
+    public void setQuantity(Integer quantity) { this.quantity = quantity; }
+
+    public String getSection() { return section; }
+    public void setSection(String section) { this.section = section; }
+
+    public BigDecimal getMinPrice() { return minPrice; }
+    public void setMinPrice(BigDecimal minPrice) { this.minPrice = minPrice; }
+
+    public BigDecimal getMaxPrice() { return maxPrice; }
+    public void setMaxPrice(BigDecimal maxPrice) { this.maxPrice = maxPrice; }
+
     public String getIdempotencyKey() { return idempotencyKey; }
     public void setIdempotencyKey(String idempotencyKey) { this.idempotencyKey = idempotencyKey; }
+
+    public String getAdmissionToken() { return admissionToken; }
+    public void setAdmissionToken(String admissionToken) { this.admissionToken = admissionToken; }
 }
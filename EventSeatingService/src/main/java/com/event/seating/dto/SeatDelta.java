@@ -0,0 +1,28 @@
+package com.event.seating.dto;
+
+/**
+ * Compact change of one seat, pushed on the seat-map stream.
+ */
+public class SeatDelta {
+    private String eventSeatId;
+    private String status;        // AVAILABLE | HOLD | ALLOCATED
+    private String holdExpiry;    // ISO string, only for HOLD
+
+    public SeatDelta() {
+    }
+
+    public SeatDelta(String eventSeatId, String status, String holdExpiry) {
+        this.eventSeatId = eventSeatId;
+        this.status = status;
+        this.holdExpiry = holdExpiry;
+    }
+
+    public String getEventSeatId() { return eventSeatId; }
+    public void setEventSeatId(String eventSeatId) { this.eventSeatId = eventSeatId; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getHoldExpiry() { return holdExpiry; }
+    public void setHoldExpiry(String holdExpiry) { this.holdExpiry = holdExpiry; }
+}
@@ -0,0 +1,35 @@
+package com.event.seating.dto;
+
+/**
+ * Outcome of a bulk seat import.
+ */
+public class SeatImportResult {
+    private String eventId;
+    private long rowsRead;
+    private long inserted;
+    private long duplicates;    // seat code already present in the event or earlier in the file
+    private long invalid;       // rows without a seat code or with unparseable numbers
+    private int batches;
+    private long elapsedMs;
+
+    public String getEventId() { return eventId; }
+    public void setEventId(String eventId) { this.eventId = eventId; }
+
+    public long getRowsRead() { return rowsRead; }
+    public void setRowsRead(long rowsRead) { this.rowsRead = rowsRead; }
+
+    public long getInserted() { return inserted; }
+    public void setInserted(long inserted) { this.inserted = inserted; }
+
+    public long getDuplicates() { return duplicates; }
+    public void setDuplicates(long duplicates) { this.duplicates = duplicates; }
+
+    public long getInvalid() { return invalid; }
+    public void setInvalid(long invalid) { this.invalid = invalid; }
+
+    public int getBatches() { return batches; }
+    public void setBatches(int batches) { this.batches = batches; }
+
+    public long getElapsedMs() { return elapsedMs; }
+    public void setElapsedMs(long elapsedMs) { this.elapsedMs = elapsedMs; }
+}
@@ -0,0 +1,49 @@
+package com.event.seating.dto;
+
+import java.util.List;
+
+/**
+ * Immutable seat layout of an event. The position of a seat in {@code seats} is its ordinal,
+ * which indexes the status vector served by the status endpoint.
+ */
+public class SeatLayoutDto {
+    private String eventId;
+    private String layoutVersion;   // changes only when seats are added
+    private List<Seat> seats;
+
+    public String getEventId() { return eventId; }
+    public void setEventId(String eventId) { this.eventId = eventId; }
+
+    public String getLayoutVersion() { return layoutVersion; }
+    public void setLayoutVersion(String layoutVersion) { this.layoutVersion = layoutVersion; }
+
+    public List<Seat> getSeats() { return seats; }
+    public void setSeats(List<Seat> seats) { this.seats = seats; }
+
+    public static class Seat {
+        private int ordinal;
+        private String eventSeatId;
+        private String seatCode;
+        private String section;
+        private String rowLabel;
+        private Integer seatNumber;
+
+        public int getOrdinal() { return ordinal; }
+        public void setOrdinal(int ordinal) { this.ordinal = ordinal; }
+
+        public String getEventSeatId() { return eventSeatId; }
+        public void setEventSeatId(String eventSeatId) { this.eventSeatId = eventSeatId; }
+
+        public String getSeatCode() { return seatCode; }
+        public void setSeatCode(String seatCode) { this.seatCode = seatCode; }
+
+        public String getSection() { return section; }
+        public void setSection(String section) { this.section = section; }
+
+        public String getRowLabel() { return rowLabel; }
+        public void setRowLabel(String rowLabel) { this.rowLabel = rowLabel; }
+
+        public Integer getSeatNumber() { return seatNumber; }
+        public void setSeatNumber(Integer seatNumber) { this.seatNumber = seatNumber; }
+    }
+}
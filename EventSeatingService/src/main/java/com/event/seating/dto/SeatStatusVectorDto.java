@@ -0,0 +1,53 @@
+package com.event.seating.dto;
+
+import java.util.List;
+
+/**
+ * Seat statuses of an event packed 2 bits per seat, indexed by layout ordinal.
+ * Seat i sits in byte i/4 at bit offset 2*(i%4): 0 = AVAILABLE, 1 = HOLD, 2 = ALLOCATED.
+ */
+public class SeatStatusVectorDto {
+    public static final int AVAILABLE = 0;
+    public static final int HOLD = 1;
+    public static final int ALLOCATED = 2;
+
+    private String layoutVersion;   // refetch the layout when this differs from the cached one
+    private int seatCount;
+    private String statusBits;      // base64 of the packed vector
+    private List<HeldSeat> holds;   // expiry of every seat in HOLD
+    private long asOf;              // epoch millis the vector was taken at
+
+    public String getLayoutVersion() { return layoutVersion; }
+    public void setLayoutVersion(String layoutVersion) { this.layoutVersion = layoutVersion; }
+
+    public int getSeatCount() { return seatCount; }
+    public void setSeatCount(int seatCount) { this.seatCount = seatCount; }
+
+    public String getStatusBits() { return statusBits; }
+    public void setStatusBits(String statusBits) { this.statusBits = statusBits; }
+
+    public List<HeldSeat> getHolds() { return holds; }
+    public void setHolds(List<HeldSeat> holds) { this.holds = holds; }
+
+    public long getAsOf() { return asOf; }
+    public void setAsOf(long asOf) { this.asOf = asOf; }
+
+    public static class HeldSeat {
+        private int ordinal;
+        private long expiresAt;     // epoch millis
+
+        public HeldSeat() {
+        }
+
+        public HeldSeat(int ordinal, long expiresAt) {
+            this.ordinal = ordinal;
+            this.expiresAt = expiresAt;
+        }
+
+        public int getOrdinal() { return ordinal; }
+        public void setOrdinal(int ordinal) { this.ordinal = ordinal; }
+
+        public long getExpiresAt() { return expiresAt; }
+        public void setExpiresAt(long expiresAt) { this.expiresAt = expiresAt; }
+    }
+}
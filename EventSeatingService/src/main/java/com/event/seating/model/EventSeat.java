@@ -1,6 +1,7 @@
 package com.event.seating.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Type;
 import java.math.BigDecimal;
 
 @Entity
@@ -9,7 +10,8 @@ import java.math.BigDecimal;
 })
 public class EventSeat {
     @Id
-    @Column(length = 36)
+    @Type(BinaryUuidType.class)
+    @Column(length = 16)
     private String id;
 
     @Column(name = "event_id", length = 36, nullable = false)
@@ -0,0 +1,78 @@
+package com.event.seating.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Type;
+import java.time.OffsetDateTime;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Header of a hold token: one row per token, holding the token-level state.
+ * The seats are its seat_hold lines; status, expiry and order live here only, so
+ * allocate/release/expiry update this single row.
+ */
+@Entity
+@Table(name = "hold", indexes = {
+        @Index(name = "idx_hold_status_expiry", columnList = "status, hold_expiry"),
+        @Index(name = "idx_hold_event_status", columnList = "event_id, status")
+})
+public class Hold {
+    @Id
+    @Type(BinaryUuidType.class)
+    @Column(name = "hold_token", length = 16)
+    private String holdToken;
+
+    @Column(name = "event_id", length = 36)
+    private String eventId;
+
+    @Column(name = "user_id", length = 36)
+    private String userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16, nullable = false)
+    private SeatHoldStatus status = SeatHoldStatus.HOLD;
+
+    @Column(name = "hold_expiry", nullable = false)
+    private OffsetDateTime holdExpiry;
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+
+    @Column(name = "allocated_at")
+    private OffsetDateTime allocatedAt;
+
+    @Column(name = "order_id", length = 36)
+    private String orderId;
+
+    // not stored: read from the hold's seat lines when the details are requested
+    @Transient
+    private List<String> seatCodes = Collections.emptyList();
+
+    // getters & setters
+    public String getHoldToken() { return holdToken; }
+    public void setHoldToken(String holdToken) { this.holdToken = holdToken; }
+
+    public String getEventId() { return eventId; }
+    public void setEventId(String eventId) { this.eventId = eventId; }
+
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+
+    public SeatHoldStatus getStatus() { return status; }
+    public void setStatus(SeatHoldStatus status) { this.status = status; }
+
+    public OffsetDateTime getHoldExpiry() { return holdExpiry; }
+    public void setHoldExpiry(OffsetDateTime holdExpiry) { this.holdExpiry = holdExpiry; }
+
+    public OffsetDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(OffsetDateTime createdAt) { this.createdAt = createdAt; }
+
+    public OffsetDateTime getAllocatedAt() { return allocatedAt; }
+    public void setAllocatedAt(OffsetDateTime allocatedAt) { this.allocatedAt = allocatedAt; }
+
+    public String getOrderId() { return orderId; }
+    public void setOrderId(String orderId) { this.orderId = orderId; }
+
+    public List<String> getSeatCodes() { return seatCodes; }
+    public void setSeatCodes(List<String> seatCodes) { this.seatCodes = seatCodes; }
+}
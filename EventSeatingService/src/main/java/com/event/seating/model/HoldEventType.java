@@ -0,0 +1,11 @@
+package com.event.seating.model;
+
+/**
+ * Hold lifecycle transitions announced to other services through the hold outbox.
+ */
+public enum HoldEventType {
+    HELD,
+    ALLOCATED,
+    RELEASED,   // by the client, before allocation
+    EXPIRED
+}
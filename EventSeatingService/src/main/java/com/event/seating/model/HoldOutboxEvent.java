@@ -0,0 +1,79 @@
+package com.event.seating.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Type;
+import java.time.OffsetDateTime;
+
+/**
+ * Pending notification of a hold transition, written in the transaction that made the transition
+ * and deleted once the dispatcher has delivered it. Ids are UUIDv7, so id order is write order.
+ */
+@Entity
+@Table(name = "hold_outbox", indexes = {
+        @Index(name = "idx_hold_outbox_created_at", columnList = "created_at")
+})
+public class HoldOutboxEvent {
+    @Id
+    @Type(BinaryUuidType.class)
+    @Column(length = 16)
+    private String id;
+
+    @Type(BinaryUuidType.class)
+    @Column(name = "hold_token", length = 16, nullable = false)
+    private String holdToken;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16, nullable = false)
+    private HoldEventType type;
+
+    // HoldNotification as JSON
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+
+    // failed deliveries so far, and the last failure
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    // set when the row can never be delivered (unreadable payload); the dispatcher skips it from then on
+    @Column(name = "dead_lettered_at")
+    private OffsetDateTime deadLetteredAt;
+
+    // set while a dispatcher delivers the row outside any transaction; other dispatchers skip it until then
+    @Column(name = "claimed_until")
+    private OffsetDateTime claimedUntil;
+
+    // getters & setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getHoldToken() { return holdToken; }
+    public void setHoldToken(String holdToken) { this.holdToken = holdToken; }
+
+    public HoldEventType getType() { return type; }
+    public void setType(HoldEventType type) { this.type = type; }
+
+    public String getPayload() { return payload; }
+    public void setPayload(String payload) { this.payload = payload; }
+
+    public OffsetDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(OffsetDateTime createdAt) { this.createdAt = createdAt; }
+
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+
+    public OffsetDateTime getDeadLetteredAt() { return deadLetteredAt; }
+    public void setDeadLetteredAt(OffsetDateTime deadLetteredAt) { this.deadLetteredAt = deadLetteredAt; }
+
+    public OffsetDateTime getClaimedUntil() { return claimedUntil; }
+    public void setClaimedUntil(OffsetDateTime claimedUntil) { this.claimedUntil = claimedUntil; }
+}
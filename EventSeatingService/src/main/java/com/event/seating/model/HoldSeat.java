@@ -0,0 +1,14 @@
+package com.event.seating.model;
+
+import java.time.OffsetDateTime;
+
+/**
+ * The seat-level facts of a hold row needed to apply a state transition in memory.
+ * Implemented by SeatHold and used as a projection by set-based repository queries.
+ */
+public interface HoldSeat {
+    String getHoldToken();
+    String getEventId();
+    String getEventSeatId();
+    OffsetDateTime getHoldExpiry();
+}
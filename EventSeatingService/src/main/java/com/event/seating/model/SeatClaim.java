@@ -0,0 +1,38 @@
+package com.event.seating.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Type;
+import java.time.OffsetDateTime;
+
+/**
+ * Active claim on a seat. The primary key on event_seat_id guarantees at most one
+ * live hold/allocation per seat; rows are written and cleared alongside SeatHold.
+ */
+@Entity
+@Table(name = "seat_claim", indexes = {
+        @Index(name = "idx_seat_claim_hold_token", columnList = "hold_token")
+})
+public class SeatClaim {
+    @Id
+    @Type(BinaryUuidType.class)
+    @Column(name = "event_seat_id", length = 16)
+    private String eventSeatId;
+
+    @Type(BinaryUuidType.class)
+    @Column(name = "hold_token", length = 16, nullable = false)
+    private String holdToken;
+
+    // null once the hold is allocated
+    @Column(name = "expires_at")
+    private OffsetDateTime expiresAt;
+
+    // getters & setters
+    public String getEventSeatId() { return eventSeatId; }
+    public void setEventSeatId(String eventSeatId) { this.eventSeatId = eventSeatId; }
+
+    public String getHoldToken() { return holdToken; }
+    public void setHoldToken(String holdToken) { this.holdToken = holdToken; }
+
+    public OffsetDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(OffsetDateTime expiresAt) { this.expiresAt = expiresAt; }
+}
@@ -1,26 +1,40 @@
 package com.event.seating.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Type;
 import java.time.OffsetDateTime;
 
+/**
+ * One seat line of a hold; the token-level state is on its Hold header.
+ * status, allocated_at and order_id are only set on lines written before the header existed
+ * (HoldBackfill builds their headers from them) and are not maintained.
+ */
 @Entity
-@Table(name = "seat_hold")
-public class SeatHold {
+@Table(name = "seat_hold", indexes = {
+        @Index(name = "idx_seat_hold_hold_token", columnList = "hold_token")
+})
+public class SeatHold implements HoldSeat {
     @Id
-    @Column(length = 36)
+    @Type(BinaryUuidType.class)
+    @Column(length = 16)
     private String id;
 
-    @Column(nullable = false)
+    @Type(BinaryUuidType.class)
+    @Column(length = 16, nullable = false)
     private String holdToken;
 
-    @Column(name = "event_seat_id", length = 36, nullable = false)
+    @Type(BinaryUuidType.class)
+    @Column(name = "event_seat_id", length = 16, nullable = false)
     private String eventSeatId;
 
+    @Column(name = "event_id", length = 36)
+    private String eventId;
+
     @Column(name = "user_id", length = 36)
     private String userId;
 
     @Enumerated(EnumType.STRING)
-    private SeatHoldStatus status = SeatHoldStatus.HOLD;
+    private SeatHoldStatus status;
 
     @Column(name = "hold_expiry", nullable = false)
     private OffsetDateTime holdExpiry;
@@ -47,6 +61,9 @@ public class SeatHold {
     public String getEventSeatId() { return eventSeatId; }
     public void setEventSeatId(String eventSeatId) { this.eventSeatId = eventSeatId; }
 
+    public String getEventId() { return eventId; }
+    public void setEventId(String eventId) { this.eventId = eventId; }
+
     public String getUserId() { return userId; }
     public void setUserId(String userId) { this.userId = userId; }
 
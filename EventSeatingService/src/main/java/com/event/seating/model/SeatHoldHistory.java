@@ -0,0 +1,71 @@
+package com.event.seating.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Type;
+import java.time.OffsetDateTime;
+
+/**
+ * Archived seat line of a terminal (RELEASED or ALLOCATED) hold, flattened with its header's state
+ * and the seat code, so a hold can be rebuilt from this table alone. Written only by HoldArchiver.
+ */
+@Entity
+@Table(name = "seat_hold_history", indexes = {
+        @Index(name = "idx_seat_hold_history_hold_token", columnList = "hold_token"),
+        @Index(name = "idx_seat_hold_history_event_status", columnList = "event_id, status")
+})
+public class SeatHoldHistory {
+    @Id
+    @Type(BinaryUuidType.class)
+    @Column(length = 16)
+    private String id;
+
+    @Type(BinaryUuidType.class)
+    @Column(name = "hold_token", length = 16, nullable = false)
+    private String holdToken;
+
+    @Type(BinaryUuidType.class)
+    @Column(name = "event_seat_id", length = 16, nullable = false)
+    private String eventSeatId;
+
+    @Column(name = "seat_code")
+    private String seatCode;
+
+    @Column(name = "event_id", length = 36)
+    private String eventId;
+
+    @Column(name = "user_id", length = 36)
+    private String userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16, nullable = false)
+    private SeatHoldStatus status;
+
+    @Column(name = "hold_expiry", nullable = false)
+    private OffsetDateTime holdExpiry;
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+
+    @Column(name = "allocated_at")
+    private OffsetDateTime allocatedAt;
+
+    @Column(name = "order_id", length = 36)
+    private String orderId;
+
+    @Column(name = "archived_at", nullable = false)
+    private OffsetDateTime archivedAt;
+
+    // getters
+    public String getId() { return id; }
+    public String getHoldToken() { return holdToken; }
+    public String getEventSeatId() { return eventSeatId; }
+    public String getSeatCode() { return seatCode; }
+    public String getEventId() { return eventId; }
+    public String getUserId() { return userId; }
+    public SeatHoldStatus getStatus() { return status; }
+    public OffsetDateTime getHoldExpiry() { return holdExpiry; }
+    public OffsetDateTime getCreatedAt() { return createdAt; }
+    public OffsetDateTime getAllocatedAt() { return allocatedAt; }
+    public String getOrderId() { return orderId; }
+    public OffsetDateTime getArchivedAt() { return archivedAt; }
+}
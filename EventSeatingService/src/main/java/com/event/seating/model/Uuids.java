@@ -0,0 +1,58 @@
+package com.event.seating.model;
+
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * Ids of seats, hold lines and hold tokens: UUIDv7 (RFC 9562), stored as BINARY(16) and exposed in the
+ * usual 36-character text form.
+ * - The leading 48 bits are the creation time in milliseconds, so new rows append to the right edge of
+ *   the clustered and secondary indexes instead of landing on random pages.
+ * - The remaining 74 bits are random (SecureRandom), so hold tokens stay unguessable.
+ * - Ids created before the switch are random UUIDv4 strings and convert to 16 bytes the same way.
+ */
+public final class Uuids {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private Uuids() {
+    }
+
+    public static String newId() {
+        return v7(System.currentTimeMillis()).toString();
+    }
+
+    static UUID v7(long epochMillis) {
+        byte[] r = new byte[10];
+        RANDOM.nextBytes(r);
+        long msb = (epochMillis << 16) | 0x7000L | ((r[0] & 0x0FL) << 8) | (r[1] & 0xFFL);
+        long lsb = ByteBuffer.wrap(r, 2, 8).getLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    /** True for the canonical 8-4-4-4-12 hex form; anything else can never match a stored id. */
+    public static boolean isValid(String id) {
+        if (id == null || id.length() != 36) return false;
+        for (int i = 0; i < 36; i++) {
+            char c = id.charAt(i);
+            boolean ok = (i == 8 || i == 13 || i == 18 || i == 23)
+                    ? c == '-'
+                    : (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+            if (!ok) return false;
+        }
+        return true;
+    }
+
+    public static byte[] toBytes(String id) {
+        if (!isValid(id)) throw new IllegalArgumentException("Not a UUID: " + id);
+        UUID u = UUID.fromString(id);
+        return ByteBuffer.allocate(16).putLong(u.getMostSignificantBits()).putLong(u.getLeastSignificantBits()).array();
+    }
+
+    public static String fromBytes(byte[] b) {
+        if (b.length != 16) throw new IllegalArgumentException("Expected 16 id bytes, got " + b.length);
+        ByteBuffer buf = ByteBuffer.wrap(b);
+        return new UUID(buf.getLong(), buf.getLong()).toString();
+    }
+}
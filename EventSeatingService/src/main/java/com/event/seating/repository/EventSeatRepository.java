@@ -1,12 +1,56 @@
 package com.event.seating.repository;
 
 import com.event.seating.model.EventSeat;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface EventSeatRepository extends JpaRepository<EventSeat, String> {
+public interface EventSeatRepository extends JpaRepository<EventSeat, String>, EventSeatRepositoryCustom {
     Optional<EventSeat> findByEventIdAndSeatCode(String eventId, String seatCode);
     List<EventSeat> findByEventId(String eventId);
-}
\ No newline at end of file
+
+    // code-only projection for duplicate checks; avoids materializing whole seats
+    @Query("select s.seatCode from EventSeat s where s.eventId = :eventId")
+    List<String> findSeatCodesByEventId(String eventId);
+
+    // no claim, or a claim whose hold has expired, leaves the seat available; a claim without expiry is an allocation
+    String SEAT_STATUS = "case when c.eventSeatId is null then 'AVAILABLE' when c.expiresAt is null then 'ALLOCATED'"
+            + " when c.expiresAt > :now then 'HOLD' else 'AVAILABLE' end";
+
+    /**
+     * Keyset page of an event's seat map in seat-code order (range scan of uk_event_seat_code), each seat
+     * joined with its seat_claim row for the status, the live hold header for the holder, or the archived
+     * line once the hold has moved to history. section and status are optional filters.
+     */
+    @Query("select s.id as eventSeatId, s.seatCode as seatCode, s.seatNumber as seatNumber, s.section as section,"
+            + " s.rowLabel as rowLabel, c.holdToken as holdToken, coalesce(g.userId, a.userId) as userId,"
+            + " c.expiresAt as holdExpiry, " + SEAT_STATUS + " as status"
+            + " from EventSeat s left join SeatClaim c on c.eventSeatId = s.id"
+            + " left join Hold g on g.holdToken = c.holdToken"
+            + " left join SeatHoldHistory a on a.holdToken = c.holdToken and a.eventSeatId = s.id"
+            + " where s.eventId = :eventId and s.seatCode > :after"
+            + " and (:section is null or s.section = :section)"
+            + " and (:status is null or " + SEAT_STATUS + " = :status)"
+            + " order by s.seatCode")
+    List<SeatStatusView> findStatusPage(String eventId, String after, String section, String status,
+                                        OffsetDateTime now, Pageable limit);
+
+    /**
+     * Per-section seat counts of the given events in one grouped scan of their seats and claims. A seat is held
+     * from its hold until the release, expired or not, which is how the availability index counts it too.
+     */
+    @Query("select s.eventId as eventId, s.section as section, count(s) as total,"
+            + " sum(case when c.eventSeatId is not null and c.expiresAt is null then 1 else 0 end) as allocated,"
+            + " sum(case when c.expiresAt is not null then 1 else 0 end) as held"
+            + " from EventSeat s left join SeatClaim c on c.eventSeatId = s.id"
+            + " where s.eventId in :eventIds group by s.eventId, s.section")
+    List<SectionCountsView> countBySection(Collection<String> eventIds);
+
+    @Query("select max(s.seatNumber) from EventSeat s where s.eventId = :eventId")
+    Integer findMaxSeatNumber(String eventId);
+}
@@ -0,0 +1,14 @@
+package com.event.seating.repository;
+
+import java.util.List;
+
+import com.event.seating.model.EventSeat;
+
+public interface EventSeatRepositoryCustom {
+
+    /**
+     * Inserts new seats with one JDBC batch (a multi-row INSERT when rewriteBatchedStatements is on),
+     * bypassing the persistence context. Seats must carry their id.
+     */
+    void insertAll(List<EventSeat> seats);
+}
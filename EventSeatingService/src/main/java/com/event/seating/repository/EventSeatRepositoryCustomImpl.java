@@ -0,0 +1,36 @@
+package com.event.seating.repository;
+
+import java.sql.Types;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.event.seating.model.EventSeat;
+import com.event.seating.model.Uuids;
+
+public class EventSeatRepositoryCustomImpl implements EventSeatRepositoryCustom {
+
+    private static final String INSERT =
+            "INSERT INTO event_seat (id, event_id, seat_code, section, row_label, seat_number, price) VALUES (?,?,?,?,?,?,?)";
+
+    private final JdbcTemplate jdbc;
+
+    public EventSeatRepositoryCustomImpl(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public void insertAll(List<EventSeat> seats) {
+        if (seats.isEmpty()) return;
+        jdbc.batchUpdate(INSERT, seats, seats.size(), (ps, s) -> {
+            ps.setBytes(1, Uuids.toBytes(s.getId()));
+            ps.setString(2, s.getEventId());
+            ps.setString(3, s.getSeatCode());
+            ps.setString(4, s.getSection());
+            ps.setString(5, s.getRowLabel());
+            if (s.getSeatNumber() == null) ps.setNull(6, Types.INTEGER);
+            else ps.setInt(6, s.getSeatNumber());
+            ps.setBigDecimal(7, s.getPrice());
+        });
+    }
+}
@@ -0,0 +1,10 @@
+package com.event.seating.repository;
+
+/**
+ * Interface projection of an event row for listings; selected columns only, never a managed entity.
+ */
+public interface EventView {
+    String getEventId();
+
+    String getEventName();
+}
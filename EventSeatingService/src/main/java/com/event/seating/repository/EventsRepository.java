@@ -1,9 +1,17 @@
 package com.event.seating.repository;
 
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import com.event.seating.model.Events;
 
 public interface EventsRepository extends JpaRepository<Events, String> {
 
+    // keyset page: events after the given id, in id order; walks the primary key
+    @Query("select e.eventId as eventId, e.eventName as eventName from Events e"
+            + " where e.eventId > :after order by e.eventId")
+    List<EventView> findPageAfter(String after, Pageable limit);
 }
@@ -0,0 +1,46 @@
+package com.event.seating.repository;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import com.event.seating.model.HoldOutboxEvent;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+public interface HoldOutboxRepository extends JpaRepository<HoldOutboxEvent, String> {
+
+    // oldest pending rows not claimed by a delivery in progress, locked while the caller claims them;
+    // rows another instance is claiming right now are skipped (-2 = SKIP LOCKED)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select o from HoldOutboxEvent o where o.deadLetteredAt is null"
+            + " and (o.claimedUntil is null or o.claimedUntil < :now) order by o.createdAt, o.id")
+    List<HoldOutboxEvent> lockOldest(@Param("now") OffsetDateTime now, Pageable limit);
+
+    // a failed delivery: counted against the rows and handed back to the next pass
+    @Modifying
+    @Query("update HoldOutboxEvent o set o.attempts = o.attempts + 1, o.lastError = :error, o.claimedUntil = null"
+            + " where o.id in :ids")
+    int failed(@Param("ids") Collection<String> ids, @Param("error") String error);
+
+    @Modifying
+    @Query("update HoldOutboxEvent o set o.claimedUntil = null where o.id in :ids")
+    int unclaim(@Param("ids") Collection<String> ids);
+
+    @Modifying
+    @Query("update HoldOutboxEvent o set o.deadLetteredAt = :now, o.attempts = o.attempts + 1, o.lastError = :error,"
+            + " o.claimedUntil = null where o.id in :ids")
+    int deadLetter(@Param("ids") Collection<String> ids, @Param("error") String error, @Param("now") OffsetDateTime now);
+
+    long countByDeadLetteredAtIsNull();
+}
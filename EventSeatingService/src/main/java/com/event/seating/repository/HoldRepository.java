@@ -0,0 +1,66 @@
+package com.event.seating.repository;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.event.seating.model.Hold;
+
+import jakarta.persistence.LockModeType;
+
+public interface HoldRepository extends JpaRepository<Hold, String> {
+
+    @Query("select g.eventId from Hold g where g.holdToken = :holdToken")
+    Optional<String> findEventIdByHoldToken(String holdToken);
+
+    // token and expiry (only) of every open hold, used to seed the in-process expiry queue
+    @Query("select g.holdToken as holdToken, g.holdExpiry as holdExpiry from Hold g"
+            + " where g.status = com.event.seating.model.SeatHoldStatus.HOLD")
+    List<HoldSeatView> findOpenHoldTokens();
+
+    // one chunk of expired hold tokens for the safety-net sweep
+    @Query("select g.holdToken from Hold g"
+            + " where g.status = com.event.seating.model.SeatHoldStatus.HOLD and g.holdExpiry <= :now")
+    List<String> findExpiredHoldTokens(OffsetDateTime now, Pageable chunk);
+
+    // the given holds that are still HOLD and past expiry, row-locked so that a concurrent allocate or release
+    // waits for the releasing transaction and then finds them RELEASED
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select g from Hold g where g.holdToken in :holdTokens"
+            + " and g.status = com.event.seating.model.SeatHoldStatus.HOLD and g.holdExpiry <= :now"
+            + " order by g.holdToken")
+    List<Hold> lockExpired(Collection<String> holdTokens, OffsetDateTime now);
+
+    @Modifying
+    @Query("update Hold g set g.status = com.event.seating.model.SeatHoldStatus.RELEASED"
+            + " where g.holdToken in :holdTokens"
+            + " and g.status = com.event.seating.model.SeatHoldStatus.HOLD and g.holdExpiry <= :now")
+    int releaseExpired(Collection<String> holdTokens, OffsetDateTime now);
+
+    @Modifying
+    @Query("update Hold g set g.status = com.event.seating.model.SeatHoldStatus.ALLOCATED,"
+            + " g.allocatedAt = :now, g.orderId = :orderId"
+            + " where g.holdToken = :holdToken and g.status = com.event.seating.model.SeatHoldStatus.HOLD")
+    int allocate(String holdToken, String orderId, OffsetDateTime now);
+
+    // one chunk of RELEASED/ALLOCATED holds whose expiry is before the cutoff, for the archiver
+    @Query("select g.holdToken from Hold g where g.status <> com.event.seating.model.SeatHoldStatus.HOLD"
+            + " and g.holdExpiry < :cutoff")
+    List<String> findTerminalHoldTokens(OffsetDateTime cutoff, Pageable chunk);
+
+    @Modifying
+    @Query("delete from Hold g where g.holdToken in :holdTokens")
+    int deleteByHoldTokenIn(Collection<String> holdTokens);
+
+    @Modifying
+    @Query("update Hold g set g.status = com.event.seating.model.SeatHoldStatus.RELEASED"
+            + " where g.holdToken = :holdToken and g.status = com.event.seating.model.SeatHoldStatus.HOLD")
+    int release(String holdToken);
+}
@@ -0,0 +1,19 @@
+package com.event.seating.repository;
+
+import java.time.OffsetDateTime;
+
+import com.event.seating.model.HoldSeat;
+import com.event.seating.model.SeatHoldStatus;
+
+/**
+ * Interface projection of SeatHold lines joined with their Hold header. A separate type is needed because
+ * SeatHold itself implements HoldSeat, and Spring Data only projects into types the entity is not assignable to.
+ */
+public interface HoldSeatView extends HoldSeat {
+    // these are only populated by queries that select them
+    SeatHoldStatus getStatus();
+
+    String getUserId();
+
+    OffsetDateTime getCreatedAt();
+}
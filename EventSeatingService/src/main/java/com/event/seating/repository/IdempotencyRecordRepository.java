@@ -0,0 +1,30 @@
+package com.event.seating.repository;
+
+import java.time.OffsetDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.event.seating.model.IdempotencyRecord;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // plain insert (not save/merge), so a key stored concurrently fails on the primary key instead of being overwritten
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_record (id, request_hash, response_body, created_at, expires_at)"
+            + " VALUES (:#{#r.id}, :#{#r.requestHash}, :#{#r.responseBody}, :#{#r.createdAt}, :#{#r.expiresAt})",
+            nativeQuery = true)
+    void insert(IdempotencyRecord r);
+
+    // an expired record the purge has not reached yet; cleared so that its key can be stored again
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.id = :id and r.expiresAt < :now")
+    int deleteExpiredById(String id, OffsetDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.expiresAt < :now")
+    int deleteExpired(OffsetDateTime now);
+}
@@ -0,0 +1,31 @@
+package com.event.seating.repository;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.event.seating.model.SeatClaim;
+
+public interface SeatClaimRepository extends JpaRepository<SeatClaim, String>, SeatClaimRepositoryCustom {
+
+    // every claim on a seat of the event, including holds that expired but were not released yet
+    @Query("select c from SeatClaim c where c.eventSeatId in (select s.id from EventSeat s where s.eventId = :eventId)")
+    List<SeatClaim> findByEventId(String eventId);
+
+    // claims left behind by holds that expired but were not yet released by the scheduler
+    @Modifying
+    @Query("delete from SeatClaim c where c.eventSeatId in :eventSeatIds and c.expiresAt < :now")
+    int deleteExpired(Collection<String> eventSeatIds, OffsetDateTime now);
+
+    @Modifying
+    @Query("delete from SeatClaim c where c.holdToken in :holdTokens")
+    int deleteByHoldTokenIn(Collection<String> holdTokens);
+
+    @Modifying
+    @Query("update SeatClaim c set c.expiresAt = null where c.holdToken = :holdToken")
+    int markAllocated(String holdToken);
+}
@@ -0,0 +1,14 @@
+package com.event.seating.repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public interface SeatClaimRepositoryCustom {
+
+    /**
+     * Claims all seats for a hold token in one multi-row INSERT.
+     * Either every seat is claimed or none is: a seat that already has a claim
+     * fails the whole statement with a duplicate key error.
+     */
+    void claimAll(String holdToken, List<String> eventSeatIds, OffsetDateTime expiresAt);
+}
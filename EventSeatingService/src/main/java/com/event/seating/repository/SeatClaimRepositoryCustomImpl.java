@@ -0,0 +1,35 @@
+package com.event.seating.repository;
+
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.event.seating.model.Uuids;
+
+public class SeatClaimRepositoryCustomImpl implements SeatClaimRepositoryCustom {
+
+    private final JdbcTemplate jdbc;
+
+    public SeatClaimRepositoryCustomImpl(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public void claimAll(String holdToken, List<String> eventSeatIds, OffsetDateTime expiresAt) {
+        if (eventSeatIds.isEmpty()) return;
+        String values = String.join(",", Collections.nCopies(eventSeatIds.size(), "(?,?,?)"));
+        Timestamp expiry = Timestamp.from(expiresAt.toInstant());
+        byte[] token = Uuids.toBytes(holdToken);
+        List<Object> args = new ArrayList<>(eventSeatIds.size() * 3);
+        for (String seatId : eventSeatIds) {
+            args.add(Uuids.toBytes(seatId));
+            args.add(token);
+            args.add(expiry);
+        }
+        jdbc.update("INSERT INTO seat_claim (event_seat_id, hold_token, expires_at) VALUES " + values, args.toArray());
+    }
+}
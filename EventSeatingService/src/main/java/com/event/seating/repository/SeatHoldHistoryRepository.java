@@ -0,0 +1,39 @@
+package com.event.seating.repository;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.event.seating.model.SeatHoldHistory;
+import com.event.seating.model.Uuids;
+
+public interface SeatHoldHistoryRepository extends JpaRepository<SeatHoldHistory, String> {
+
+    List<SeatHoldHistory> findByHoldTokenOrderByCreatedAt(String holdToken);
+
+    // archived allocations still occupy their seats; the only history rows the seat map needs
+    @Query("select h.holdToken as holdToken, h.eventSeatId as eventSeatId, h.userId as userId, h.holdExpiry as holdExpiry,"
+            + " h.status as status, h.createdAt as createdAt from SeatHoldHistory h"
+            + " where h.eventId = :eventId and h.status = com.event.seating.model.SeatHoldStatus.ALLOCATED")
+    List<HoldSeatView> findAllocatedForEvent(String eventId);
+
+    // copies the lines of the given holds, joined with their header and seat, in one statement
+    default int copyFromLive(Collection<String> holdTokens, OffsetDateTime now) {
+        return copyFromLive(holdTokens.stream().map(Uuids::toBytes).toList(), now);
+    }
+
+    // native, so the tokens are bound as their BINARY(16) column values
+    @Modifying
+    @Query(value = "INSERT INTO seat_hold_history (id, hold_token, event_seat_id, seat_code, event_id, user_id, status,"
+            + " hold_expiry, created_at, allocated_at, order_id, archived_at)"
+            + " SELECT h.id, h.hold_token, h.event_seat_id, s.seat_code, g.event_id, g.user_id, g.status,"
+            + " g.hold_expiry, h.created_at, g.allocated_at, g.order_id, :now"
+            + " FROM seat_hold h JOIN hold g ON g.hold_token = h.hold_token"
+            + " LEFT JOIN event_seat s ON s.id = h.event_seat_id"
+            + " WHERE g.hold_token IN (:holdTokens)", nativeQuery = true)
+    int copyFromLive(List<byte[]> holdTokens, OffsetDateTime now);
+}
@@ -1,31 +1,58 @@
 package com.event.seating.repository;
 
 import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 import com.event.seating.model.SeatHold;
-import com.event.seating.model.SeatHoldStatus;
-
-import jakarta.persistence.*;
 
+/**
+ * Seat lines of holds. Their status, expiry and user come from the Hold header, joined on the token.
+ */
 public interface SeatHoldRepository extends JpaRepository<SeatHold, String> {
-    List<SeatHold> findByStatusAndHoldExpiryBefore(SeatHoldStatus status, OffsetDateTime time);
-
-    List<SeatHold> findByHoldToken(String holdToken);
-
-    Optional<SeatHold> findByIdempotencyKey(String idempotencyKey);
-
-    List<SeatHold> findByEventSeatIdIn(List<String> eventSeatIds);
-    
-    // Optional: method to lock a seathold row if needed
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("select s from SeatHold s where s.id = :id")
-    Optional<SeatHold> findAndLockById(String id);
-    
 
+    // active holds that have no seat_claim row yet (written before seat_claim existed)
+    @Query("select h.holdToken as holdToken, h.eventSeatId as eventSeatId, g.holdExpiry as holdExpiry, g.status as status"
+            + " from SeatHold h, Hold g where g.holdToken = h.holdToken"
+            + " and (g.status = com.event.seating.model.SeatHoldStatus.ALLOCATED"
+            + " or (g.status = com.event.seating.model.SeatHoldStatus.HOLD and g.holdExpiry > :now))"
+            + " and not exists (select c from SeatClaim c where c.eventSeatId = h.eventSeatId)")
+    List<HoldSeatView> findActiveWithoutClaim(OffsetDateTime now);
+
+    @Query("select h.holdToken as holdToken, g.eventId as eventId, h.eventSeatId as eventSeatId, g.holdExpiry as holdExpiry,"
+            + " g.userId as userId"
+            + " from SeatHold h, Hold g where g.holdToken = h.holdToken and g.holdToken in :holdTokens"
+            + " and g.status = com.event.seating.model.SeatHoldStatus.HOLD and g.holdExpiry <= :now")
+    List<HoldSeatView> findExpiredByHoldTokenIn(Collection<String> holdTokens, OffsetDateTime now);
+
+    @Query("select h.holdToken as holdToken, g.eventId as eventId, h.eventSeatId as eventSeatId,"
+            + " g.holdExpiry as holdExpiry, g.status as status, g.userId as userId"
+            + " from SeatHold h, Hold g where g.holdToken = :holdToken and h.holdToken = g.holdToken")
+    List<HoldSeatView> findHoldSeatsByHoldToken(String holdToken);
+
+    // every hold line of the given seats, with its header's state, for the full seat status list
+    @Query("select h.holdToken as holdToken, h.eventSeatId as eventSeatId, g.userId as userId, g.holdExpiry as holdExpiry,"
+            + " g.status as status, h.createdAt as createdAt"
+            + " from SeatHold h, Hold g where h.eventSeatId in :eventSeatIds and g.holdToken = h.holdToken")
+    List<HoldSeatView> findByEventSeatIdIn(Collection<String> eventSeatIds);
+
+    @Modifying
+    @Query("delete from SeatHold h where h.holdToken in :holdTokens")
+    int deleteByHoldTokenIn(Collection<String> holdTokens);
+
+    // one chunk of tokens whose lines have no Hold header yet (written before the header existed)
+    @Query("select distinct h.holdToken from SeatHold h where not exists (select g from Hold g where g.holdToken = h.holdToken)")
+    List<String> findTokensWithoutHeader(Pageable chunk);
+
+    List<SeatHold> findByHoldTokenIn(Collection<String> holdTokens);
+
+    // seat codes of a hold, for its details
+    @Query("select s.seatCode from SeatHold h, EventSeat s where h.holdToken = :holdToken and s.id = h.eventSeatId"
+            + " order by s.seatCode")
+    List<String> findSeatCodesByHoldToken(String holdToken);
 }
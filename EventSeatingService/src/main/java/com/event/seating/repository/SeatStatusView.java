@@ -0,0 +1,28 @@
+package com.event.seating.repository;
+
+import java.time.OffsetDateTime;
+
+/**
+ * One seat of a seat-map page: catalog columns plus its live claim, projected in a single query.
+ * status is AVAILABLE, HOLD or ALLOCATED as of the query's :now; the hold columns are only
+ * meaningful when it is not AVAILABLE.
+ */
+public interface SeatStatusView {
+    String getEventSeatId();
+
+    String getSeatCode();
+
+    Integer getSeatNumber();
+
+    String getSection();
+
+    String getRowLabel();
+
+    String getStatus();
+
+    String getHoldToken();
+
+    String getUserId();
+
+    OffsetDateTime getHoldExpiry();
+}
@@ -0,0 +1,17 @@
+package com.event.seating.repository;
+
+/**
+ * Seat counts of one section of an event, from event_seat joined with seat_claim.
+ */
+public interface SectionCountsView {
+    String getEventId();
+
+    String getSection();
+
+    Long getTotal();
+
+    Long getAllocated();
+
+    // every hold claim, including holds that expired but were not released yet
+    Long getHeld();
+}
@@ -0,0 +1,101 @@
+package com.event.seating.scheduler;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.event.seating.repository.EventSeatRepository;
+import com.event.seating.repository.SectionCountsView;
+import com.event.seating.service.CatalogCache;
+import com.event.seating.service.EventSequencer;
+import com.event.seating.service.SeatAvailabilityIndex;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Checks the availability counters of every loaded event against seat_claim and rebuilds an event whose
+ * counters have drifted (writes from other instances, a missed commit event).
+ * - Runs under the event's sequencer lock, so this instance's hold commands are not mid-flight.
+ * - Per section: seat totals, held and allocated seats must match exactly; both sides count a hold as held
+ *   until it is released, expired or not.
+ * - The expiry scheduler releases without the sequencer lock, so a check that lands between its commit and the
+ *   counter update sees a mismatch; that only costs a rebuild, which reads the same committed state.
+ * - seating.availability.reconciled counts checks by result (consistent, drift).
+ */
+@Component
+public class AvailabilityReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(AvailabilityReconciler.class);
+
+    private final SeatAvailabilityIndex availability;
+    private final EventSeatRepository seatRepo;
+    private final CatalogCache catalog;
+    private final EventSequencer sequencer;
+    private final Counter consistent;
+    private final Counter drift;
+
+    public AvailabilityReconciler(SeatAvailabilityIndex availability, EventSeatRepository seatRepo,
+                                  CatalogCache catalog, EventSequencer sequencer, MeterRegistry registry) {
+        this.availability = availability;
+        this.seatRepo = seatRepo;
+        this.catalog = catalog;
+        this.sequencer = sequencer;
+        this.consistent = reconciled(registry, "consistent");
+        this.drift = reconciled(registry, "drift");
+    }
+
+    @Scheduled(fixedDelayString = "${seating.availability.reconcile-interval-ms:30000}")
+    public void reconcileAll() {
+        for (String eventId : availability.loaded().keySet()) {
+            try {
+                sequencer.run(eventId, () -> reconcile(eventId));
+            } catch (IllegalStateException ex) {
+                // event busy; checked again next round
+                log.debug("Skipped availability reconcile of {}: {}", eventId, ex.getMessage());
+            }
+        }
+    }
+
+    void reconcile(String eventId) {
+        if (matches(eventId)) {
+            consistent.increment();
+            return;
+        }
+        drift.increment();
+        log.warn("Availability counters of event {} drifted from the database; rebuilding", eventId);
+        // the seat list may be what changed (seats added on another instance)
+        catalog.invalidateSeats(eventId);
+        availability.reload(eventId);
+    }
+
+    private boolean matches(String eventId) {
+        Map<String, SectionCountsView> db = new HashMap<>();
+        for (SectionCountsView c : seatRepo.countBySection(List.of(eventId))) {
+            db.put(c.getSection(), c);
+        }
+        SeatAvailabilityIndex.EventSeats m = availability.seats(eventId);
+        if (db.size() != m.sections().size()) return false;
+        for (int s = 0; s < m.sections().size(); s++) {
+            SectionCountsView c = db.get(m.sections().get(s));
+            if (c == null) return false;
+            if (c.getTotal() != m.sectionTotal(s) || c.getAllocated() != m.sectionAllocated(s)
+                    || c.getHeld() != m.sectionHeld(s)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Counter reconciled(MeterRegistry registry, String result) {
+        return Counter.builder("seating.availability.reconciled")
+                .description("Checks of the availability counters against the database")
+                .tag("result", result)
+                .register(registry);
+    }
+}
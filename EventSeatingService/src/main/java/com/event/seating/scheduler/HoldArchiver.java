@@ -0,0 +1,79 @@
+package com.event.seating.scheduler;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.event.seating.repository.HoldRepository;
+import com.event.seating.repository.SeatHoldHistoryRepository;
+import com.event.seating.repository.SeatHoldRepository;
+import com.event.seating.service.SeatingMetrics;
+
+/**
+ * Moves terminal holds (RELEASED or ALLOCATED, expired for longer than min-age) out of hold/seat_hold
+ * into seat_hold_history, so the live tables stay sized to current activity.
+ * - Each batch of tokens is copied and deleted in its own transaction; a failed batch leaves both sides untouched.
+ * - seat_claim rows are kept: an archived allocation still owns its seat.
+ */
+@Component
+public class HoldArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(HoldArchiver.class);
+
+    private final HoldRepository headerRepo;
+    private final SeatHoldRepository holdRepo;
+    private final SeatHoldHistoryRepository historyRepo;
+    private final TransactionTemplate tx;
+    private final SeatingMetrics metrics;
+    private final long minAgeHours;
+    private final int batchSize;
+
+    public HoldArchiver(HoldRepository headerRepo, SeatHoldRepository holdRepo, SeatHoldHistoryRepository historyRepo,
+                        TransactionTemplate tx, SeatingMetrics metrics,
+                        @Value("${seating.archive.min-age-hours:24}") long minAgeHours,
+                        @Value("${seating.archive.batch-size:1000}") int batchSize) {
+        this.headerRepo = headerRepo;
+        this.holdRepo = holdRepo;
+        this.historyRepo = historyRepo;
+        this.tx = tx;
+        this.metrics = metrics;
+        this.minAgeHours = minAgeHours;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${seating.archive.interval-ms:600000}")
+    public void archive() {
+        OffsetDateTime cutoff = OffsetDateTime.now().minusHours(minAgeHours);
+        int total = 0;
+        int moved;
+        while ((moved = archiveBatch(cutoff)) > 0) {
+            total += moved;
+        }
+        if (total > 0) {
+            log.info("Archived {} terminal holds older than {}h", total, minAgeHours);
+        }
+    }
+
+    /** Archives up to batchSize terminal holds; returns the number of holds moved. */
+    int archiveBatch(OffsetDateTime cutoff) {
+        Integer moved = tx.execute(status -> {
+            List<String> tokens = headerRepo.findTerminalHoldTokens(cutoff, PageRequest.of(0, batchSize));
+            if (tokens.isEmpty()) return 0;
+            int lines = historyRepo.copyFromLive(tokens, OffsetDateTime.now());
+            holdRepo.deleteByHoldTokenIn(tokens);
+            headerRepo.deleteByHoldTokenIn(tokens);
+            log.debug("Archived {} holds ({} seat lines)", tokens.size(), lines);
+            return tokens.size();
+        });
+        int n = moved == null ? 0 : moved;
+        metrics.archived(n);
+        return n;
+    }
+}
@@ -0,0 +1,76 @@
+package com.event.seating.scheduler;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process timer for hold expiries: one entry per hold token, due at its hold expiry.
+ * Entries are never removed on allocate/release; a due token that is no longer HOLD is simply a no-op.
+ */
+@Component
+public class HoldExpiryQueue {
+
+    private final DelayQueue<PendingExpiry> queue = new DelayQueue<>();
+
+    public void schedule(String holdToken, OffsetDateTime holdExpiry) {
+        queue.add(new PendingExpiry(holdToken, holdExpiry.toInstant().toEpochMilli()));
+    }
+
+    /** Puts drained tokens back, due again after delayMillis (for a release that failed). */
+    public void retry(Collection<String> holdTokens, long delayMillis) {
+        long dueAt = System.currentTimeMillis() + delayMillis;
+        for (String token : holdTokens) {
+            queue.add(new PendingExpiry(token, dueAt));
+        }
+    }
+
+    /** Removes and returns up to max hold tokens whose expiry has passed. */
+    public Set<String> drainDue(int max) {
+        List<PendingExpiry> due = new ArrayList<>();
+        queue.drainTo(due, max);
+        Set<String> tokens = new LinkedHashSet<>();
+        for (PendingExpiry p : due) {
+            tokens.add(p.holdToken);
+        }
+        return tokens;
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    /** How long the earliest entry is past due (0 if nothing is due); grows when draining falls behind. */
+    public long overdueMillis() {
+        PendingExpiry head = queue.peek();
+        return head == null ? 0 : Math.max(0, System.currentTimeMillis() - head.dueAtMillis);
+    }
+
+    private static final class PendingExpiry implements Delayed {
+        private final String holdToken;
+        private final long dueAtMillis;
+
+        PendingExpiry(String holdToken, long dueAtMillis) {
+            this.holdToken = holdToken;
+            this.dueAtMillis = dueAtMillis;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(dueAtMillis, ((PendingExpiry) other).dueAtMillis);
+        }
+    }
+}
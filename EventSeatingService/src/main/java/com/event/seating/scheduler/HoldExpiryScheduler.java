@@ -2,39 +2,147 @@ package com.event.seating.scheduler;
 
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.event.seating.repository.HoldRepository;
+import com.event.seating.repository.SeatClaimRepository;
+import com.event.seating.repository.HoldSeatView;
 import com.event.seating.repository.SeatHoldRepository;
+import com.event.seating.service.HoldOutbox;
+import com.event.seating.service.SeatStatusChangedEvent;
+import com.event.seating.service.TransactionHooks;
+import com.event.seating.service.SeatingMetrics;
 
-
-import com.event.seating.model.SeatHold;
+import com.event.seating.model.Hold;
+import com.event.seating.model.HoldEventType;
+import com.event.seating.model.HoldSeat;
 import com.event.seating.model.SeatHoldStatus;
 
+/**
+ * Releases expired holds.
+ * - Primary path: HoldExpiryQueue is drained every few hundred ms, so a hold is released within
+ *   a second of its expiry with one set-based UPDATE per batch of tokens.
+ * - Safety net: a low-frequency DB sweep catches holds the queue never saw (other instances, restarts).
+ */
 @Component
 public class HoldExpiryScheduler {
 
+    private static final Logger log = LoggerFactory.getLogger(HoldExpiryScheduler.class);
+
     private final SeatHoldRepository holdRepo;
+    private final HoldRepository headerRepo;
+    private final SeatClaimRepository claimRepo;
+    private final HoldExpiryQueue expiryQueue;
+    private final ApplicationEventPublisher events;
+    private final TransactionTemplate tx;
+    private final SeatingMetrics metrics;
+    private final HoldOutbox outbox;
+    private final int batchSize;
+    private final long retryDelayMs;
 
-    public HoldExpiryScheduler(SeatHoldRepository holdRepo) {
+    public HoldExpiryScheduler(SeatHoldRepository holdRepo, HoldRepository headerRepo, SeatClaimRepository claimRepo,
+                               HoldExpiryQueue expiryQueue, ApplicationEventPublisher events,
+                               TransactionTemplate tx, SeatingMetrics metrics, HoldOutbox outbox,
+                               @Value("${seating.hold.expiry-batch-size:500}") int batchSize,
+                               @Value("${seating.hold.expiry-retry-delay-ms:1000}") long retryDelayMs) {
         this.holdRepo = holdRepo;
+        this.headerRepo = headerRepo;
+        this.claimRepo = claimRepo;
+        this.expiryQueue = expiryQueue;
+        this.events = events;
+        this.tx = tx;
+        this.metrics = metrics;
+        this.outbox = outbox;
+        this.batchSize = batchSize;
+        this.retryDelayMs = retryDelayMs;
     }
-    
+
     ZoneId zoneId = ZoneId.of("Asia/Kolkata");
 
-    // runs every minute (configurable)
-    @Scheduled(fixedDelayString = "${seating.hold.expiry-check-interval-seconds:60}000")
-    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedQueue() {
+        List<HoldSeatView> open = headerRepo.findOpenHoldTokens();
+        open.forEach(h -> expiryQueue.schedule(h.getHoldToken(), h.getHoldExpiry()));
+        log.info("Seeded hold expiry queue with {} open holds", open.size());
+    }
+
+    @Scheduled(fixedDelayString = "${seating.hold.expiry-drain-interval-ms:250}")
+    public void drainDueHolds() {
+        Set<String> due;
+        while (!(due = expiryQueue.drainDue(batchSize)).isEmpty()) {
+            try {
+                release(due);
+            } catch (RuntimeException ex) {
+                // drained tokens are no longer queued: put them back rather than leave them to the safety sweep
+                expiryQueue.retry(due, retryDelayMs);
+                log.warn("Releasing {} expired holds failed, retrying in {} ms: {}", due.size(), retryDelayMs, ex.toString());
+                return;
+            }
+        }
+    }
+
+    // safety net only; runs every few minutes (configurable), releasing expired holds in chunks of batchSize tokens
+    @Scheduled(fixedDelayString = "${seating.hold.expiry-check-interval-seconds:300}000")
     public void expireHolds() {
         OffsetDateTime now = OffsetDateTime.now(zoneId);
-        List<SeatHold> expired = holdRepo.findByStatusAndHoldExpiryBefore(SeatHoldStatus.HOLD, now);
-        for (SeatHold sh : expired) {
-            sh.setStatus(SeatHoldStatus.RELEASED);
-            holdRepo.save(sh);
-            // TODO: optionally notify other services (Order service) about release via REST call or event
+        List<String> tokens;
+        while (!(tokens = headerRepo.findExpiredHoldTokens(now, PageRequest.of(0, batchSize))).isEmpty()) {
+            if (release(tokens) == 0) break; // nothing left that we can release
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Releases whichever of the given tokens are still HOLD and past expiry; returns the number of seat rows released.
+     * The headers are locked first, so everything below works from exactly the tokens the UPDATE changes:
+     * an allocate that got there first leaves its token out, one that comes later finds it RELEASED.
+     */
+    int release(Collection<String> holdTokens) {
+        Integer released = tx.execute(status -> {
+            OffsetDateTime now = OffsetDateTime.now(zoneId);
+            Set<String> expiredTokens = headerRepo.lockExpired(holdTokens, now).stream()
+                    .map(Hold::getHoldToken).collect(Collectors.toCollection(LinkedHashSet::new));
+            if (expiredTokens.isEmpty()) return 0;
+
+            List<HoldSeatView> expired = holdRepo.findExpiredByHoldTokenIn(expiredTokens, now);
+            if (headerRepo.releaseExpired(expiredTokens, now) != expiredTokens.size()) {
+                throw new IllegalStateException("Expired holds changed while locked: " + expiredTokens);
+            }
+            claimRepo.deleteByHoldTokenIn(expiredTokens);
+            // other services (order service) hear of it through the outbox, delivered by HoldOutboxDispatcher
+            outbox.recordAll(HoldEventType.EXPIRED, expired);
+
+            // holds without event_id predate the index; it already treats their expired seats as free
+            Map<String, List<HoldSeatView>> byEvent = expired.stream()
+                    .filter(h -> h.getEventId() != null)
+                    .collect(Collectors.groupingBy(HoldSeat::getEventId));
+            byEvent.forEach((eventId, seats) ->
+                    events.publishEvent(new SeatStatusChangedEvent(eventId, SeatHoldStatus.RELEASED, seats)));
+
+            Map<String, OffsetDateTime> expiryByToken = expired.stream()
+                    .collect(Collectors.toMap(HoldSeat::getHoldToken, HoldSeat::getHoldExpiry, (a, b) -> a));
+            long nowMillis = now.toInstant().toEpochMilli();
+            TransactionHooks.afterCommit(() -> {
+                metrics.expired(expiryByToken.size());
+                expiryByToken.values().forEach(e -> metrics.expiryDelay(nowMillis - e.toInstant().toEpochMilli()));
+            });
+            return expired.size();
+        });
+        return released == null ? 0 : released;
+    }
+}
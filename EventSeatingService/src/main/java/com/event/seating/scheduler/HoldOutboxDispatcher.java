@@ -0,0 +1,234 @@
+package com.event.seating.scheduler;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.event.seating.dto.HoldNotification;
+import com.event.seating.model.HoldOutboxEvent;
+import com.event.seating.repository.HoldOutboxRepository;
+import com.event.seating.service.HoldEventSink;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Drains hold_outbox to the HoldEventSink.
+ * - Each pass claims up to batch-size of the oldest rows in a short transaction: locked with SKIP LOCKED and
+ *   marked claimed_until = now + claim-ttl-ms, so that instances split the backlog instead of delivering the
+ *   same rows twice. It keeps going while batches come back full.
+ * - Rows of the same hold token are coalesced to the latest transition, so a hold taken and released
+ *   within one batch costs one notification; the whole batch is one sink call, made with no transaction
+ *   open, so a slow sink holds neither a pooled connection nor row locks.
+ * - A second short transaction deletes the delivered rows. A failed delivery keeps the batch (attempts and
+ *   last error are recorded, the claim is dropped) and pauses dispatch with exponential back-off up to
+ *   max-backoff-ms. Rows of an instance that died mid-delivery are taken again once their claim runs out.
+ * - A row whose payload cannot be read is dead-lettered (dead_lettered_at set, skipped from then on)
+ *   and the rest of its batch is delivered as usual.
+ * - Meters: seating.outbox.notifications (delivered, failed), seating.outbox.coalesced, seating.outbox.dead.lettered,
+ *   seating.outbox.delivery.delay (commit to delivery), and gauges seating.outbox.lag (age of the oldest
+ *   undelivered row, from the batches read) and seating.outbox.pending (counted every pending-refresh-ms).
+ */
+@Component
+public class HoldOutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(HoldOutboxDispatcher.class);
+
+    private final HoldOutboxRepository repo;
+    private final HoldEventSink sink;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate tx;
+    private final int batchSize;
+    private final long claimTtlMs;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final Counter delivered;
+    private final Counter failed;
+    private final Counter coalesced;
+    private final Counter deadLettered;
+    private final Timer deliveryDelay;
+    private final AtomicLong pending = new AtomicLong();
+    // created_at of the oldest row seen undelivered, 0 when the outbox was found drained
+    private final AtomicLong oldestPendingMillis = new AtomicLong();
+    private int consecutiveFailures;
+    private long pausedUntil;
+
+    public HoldOutboxDispatcher(HoldOutboxRepository repo, HoldEventSink sink, ObjectMapper objectMapper,
+                                TransactionTemplate tx, MeterRegistry registry,
+                                @Value("${seating.outbox.batch-size:200}") int batchSize,
+                                @Value("${seating.outbox.claim-ttl-ms:60000}") long claimTtlMs,
+                                @Value("${seating.outbox.initial-backoff-ms:1000}") long initialBackoffMs,
+                                @Value("${seating.outbox.max-backoff-ms:60000}") long maxBackoffMs) {
+        this.repo = repo;
+        this.sink = sink;
+        this.objectMapper = objectMapper;
+        this.tx = tx;
+        this.batchSize = batchSize;
+        this.claimTtlMs = claimTtlMs;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.delivered = notifications(registry, "delivered");
+        this.failed = notifications(registry, "failed");
+        this.coalesced = Counter.builder("seating.outbox.coalesced")
+                .description("Outbox rows folded into a later transition of the same hold before delivery")
+                .register(registry);
+        this.deadLettered = Counter.builder("seating.outbox.dead.lettered")
+                .description("Outbox rows set aside because their payload could not be read")
+                .register(registry);
+        this.deliveryDelay = Timer.builder("seating.outbox.delivery.delay")
+                .description("Time from a hold transition until its notification was delivered")
+                .publishPercentileHistogram()
+                .register(registry);
+        Gauge.builder("seating.outbox.pending", pending, AtomicLong::get)
+                .description("Hold notifications waiting in the outbox")
+                .register(registry);
+        Gauge.builder("seating.outbox.lag", this, HoldOutboxDispatcher::lagMillis)
+                .description("Age of the oldest undelivered hold notification")
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${seating.outbox.dispatch-interval-ms:500}")
+    public void dispatch() {
+        if (System.currentTimeMillis() < pausedUntil) return;
+        int taken;
+        do {
+            taken = dispatchBatch();
+        } while (taken == batchSize);
+    }
+
+    // a count over the whole table; too costly for every dispatch pass
+    @Scheduled(fixedDelayString = "${seating.outbox.pending-refresh-ms:30000}")
+    public void refreshPending() {
+        pending.set(repo.countByDeadLetteredAtIsNull());
+    }
+
+    /** Delivers one batch; returns the number of rows taken, or 0 when the delivery failed. */
+    int dispatchBatch() {
+        List<HoldOutboxEvent> rows = tx.execute(status -> claim(OffsetDateTime.now()));
+        // the first row is the oldest undelivered one (bar rows another instance has claimed)
+        oldestPendingMillis.set(rows == null || rows.isEmpty() ? 0 : rows.get(0).getCreatedAt().toInstant().toEpochMilli());
+        if (rows == null || rows.isEmpty()) return 0;
+
+        // rows arrive in write order, so the last row of a token is its latest transition
+        Map<String, HoldOutboxEvent> latest = new LinkedHashMap<>();
+        for (HoldOutboxEvent row : rows) {
+            latest.remove(row.getHoldToken());
+            latest.put(row.getHoldToken(), row);
+        }
+        List<HoldNotification> batch = new ArrayList<>(latest.size());
+        List<HoldOutboxEvent> sent = new ArrayList<>(latest.size());
+        List<String> superseded = new ArrayList<>(rows.size());
+        List<String> unreadable = new ArrayList<>();
+        for (HoldOutboxEvent row : rows) {
+            if (latest.get(row.getHoldToken()) != row) {
+                superseded.add(row.getId());
+                continue;
+            }
+            HoldNotification n = read(row);
+            if (n == null) {
+                // an unreadable payload never becomes readable: set it aside instead of failing every batch
+                unreadable.add(row.getId());
+                log.error("Dead-lettered unreadable hold_outbox row {}", row.getId());
+                continue;
+            }
+            batch.add(n);
+            sent.add(row);
+        }
+        List<String> sentIds = sent.stream().map(HoldOutboxEvent::getId).toList();
+
+        RuntimeException failure = null;
+        if (!batch.isEmpty()) {
+            try {
+                sink.deliver(batch);
+            } catch (RuntimeException ex) {
+                failure = ex;
+            }
+        }
+        String error = failure == null ? null : truncate(String.valueOf(failure.getMessage()));
+        OffsetDateTime now = OffsetDateTime.now();
+        tx.executeWithoutResult(status -> {
+            if (!unreadable.isEmpty()) repo.deadLetter(unreadable, "unreadable payload", now);
+            if (error == null) {
+                List<String> done = new ArrayList<>(superseded);
+                done.addAll(sentIds);
+                repo.deleteAllByIdInBatch(done);
+            } else {
+                if (!sentIds.isEmpty()) repo.failed(sentIds, error);
+                if (!superseded.isEmpty()) repo.unclaim(superseded);
+            }
+        });
+        deadLettered.increment(unreadable.size());
+
+        if (failure != null) {
+            failed.increment(batch.size());
+            backOff(failure);
+            return 0;
+        }
+        consecutiveFailures = 0;
+        delivered.increment(batch.size());
+        coalesced.increment(rows.size() - latest.size());
+        for (HoldOutboxEvent row : sent) {
+            deliveryDelay.record(Duration.between(row.getCreatedAt(), now));
+        }
+        if (rows.size() < batchSize) oldestPendingMillis.set(0);
+        return rows.size();
+    }
+
+    // the claim is committed before delivery starts; it outlives a sink call bounded by its own timeout
+    private List<HoldOutboxEvent> claim(OffsetDateTime now) {
+        List<HoldOutboxEvent> rows = repo.lockOldest(now, PageRequest.of(0, batchSize));
+        OffsetDateTime until = now.plus(Duration.ofMillis(claimTtlMs));
+        rows.forEach(row -> row.setClaimedUntil(until));
+        return rows;
+    }
+
+    private void backOff(RuntimeException ex) {
+        consecutiveFailures++;
+        long delay = Math.min(maxBackoffMs, initialBackoffMs << Math.min(consecutiveFailures - 1, 20));
+        pausedUntil = System.currentTimeMillis() + delay;
+        log.warn("Hold notification delivery failed ({} in a row), retrying in {} ms: {}",
+                consecutiveFailures, delay, ex.toString());
+    }
+
+    private static String truncate(String error) {
+        return error.length() > 500 ? error.substring(0, 500) : error;
+    }
+
+    private long lagMillis() {
+        long oldest = oldestPendingMillis.get();
+        return oldest == 0 ? 0 : Math.max(0, System.currentTimeMillis() - oldest);
+    }
+
+    // null when the payload cannot be parsed
+    private HoldNotification read(HoldOutboxEvent row) {
+        try {
+            return objectMapper.readValue(row.getPayload(), HoldNotification.class);
+        } catch (JsonProcessingException ex) {
+            return null;
+        }
+    }
+
+    private static Counter notifications(MeterRegistry registry, String result) {
+        return Counter.builder("seating.outbox.notifications")
+                .description("Hold notifications handed to the sink")
+                .tag("result", result)
+                .register(registry);
+    }
+}
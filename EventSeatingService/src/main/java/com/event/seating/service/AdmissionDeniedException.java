@@ -0,0 +1,19 @@
+package com.event.seating.service;
+
+/**
+ * A reserve on an event with an open waiting room that lacks a valid admission token for its user and event;
+ * surfaced as 403, or 429 when the token was valid but has expired (the client should rejoin the queue).
+ */
+public class AdmissionDeniedException extends RuntimeException {
+
+    private final boolean expired;
+
+    public AdmissionDeniedException(String message, boolean expired) {
+        super(message);
+        this.expired = expired;
+    }
+
+    public boolean isExpired() {
+        return expired;
+    }
+}
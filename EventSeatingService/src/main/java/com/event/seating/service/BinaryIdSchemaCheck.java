@@ -0,0 +1,41 @@
+package com.event.seating.service;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.Types;
+
+/**
+ * Refuses to start against a schema whose id columns are still the old 36-character strings.
+ * ddl-auto=update creates BINARY(16) columns for new tables but never changes an existing column's
+ * type, so an un-migrated database would otherwise fail on the first read of a seat or hold.
+ * The conversion is db/migrate-ids-to-binary16.sql. HoldBackfill runs the check before its own
+ * reads and DDL, the first thing at startup that touches the id columns.
+ */
+@Component
+public class BinaryIdSchemaCheck {
+
+    private final JdbcTemplate jdbc;
+
+    public BinaryIdSchemaCheck(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public void check() {
+        Boolean textIds = jdbc.execute((ConnectionCallback<Boolean>) c -> {
+            DatabaseMetaData md = c.getMetaData();
+            try (ResultSet rs = md.getColumns(c.getCatalog(), c.getSchema(), "event_seat", "id")) {
+                if (!rs.next()) return false;
+                int type = rs.getInt("DATA_TYPE");
+                return type == Types.VARCHAR || type == Types.CHAR || type == Types.LONGVARCHAR || type == Types.NVARCHAR;
+            }
+        });
+        if (Boolean.TRUE.equals(textIds)) {
+            throw new IllegalStateException("event_seat.id is still a text column: run db/migrate-ids-to-binary16.sql"
+                    + " (in the service jar) against this database before starting this version");
+        }
+    }
+}
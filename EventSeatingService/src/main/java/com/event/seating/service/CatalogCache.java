@@ -0,0 +1,264 @@
+package com.event.seating.service;
+
+import com.event.seating.model.EventSeat;
+import com.event.seating.model.Events;
+import com.event.seating.repository.EventSeatRepository;
+import com.event.seating.repository.EventsRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Event and seat catalog rows, which almost never change once an event is set up.
+ * - Events are cached per id and seats per event (both bounded LRU, max-events entries), seats indexed by
+ *   seat code; a seat code the DB does not have is remembered for missing-seat-ttl-ms so repeated bad codes
+ *   do not each reach the DB.
+ * - addEvent and seat layout changes on this instance invalidate at once; entries older than max-age-ms
+ *   are reloaded, which bounds staleness from other instances' changes.
+ * - seating.catalog.lookups counts hits and misses per cache (events, seats, seat-code).
+ * Cached rows are detached read-only copies, never the entities of the loading persistence context, so
+ * sharing them between threads is safe and a setter call fails instead of corrupting the cache.
+ */
+@Component
+public class CatalogCache {
+
+    private final EventsRepository eventsRepo;
+    private final EventSeatRepository seatRepo;
+    private final long maxAgeMs;
+    private final long missingSeatTtlMs;
+    private final Map<String, CachedEvent> events;
+    private final Map<String, EventCatalog> seats;
+    private final Map<String, Long> missingSeats;
+    private final ReentrantLock lock = new ReentrantLock();
+    // bumped by every invalidation, so a load that raced with one is not cached
+    private long eventGeneration;
+    private long seatGeneration;
+    private final Counter eventHits;
+    private final Counter eventMisses;
+    private final Counter seatHits;
+    private final Counter seatMisses;
+    private final Counter codeHits;
+    private final Counter codeMisses;
+
+    public CatalogCache(EventsRepository eventsRepo, EventSeatRepository seatRepo, MeterRegistry registry,
+                        @Value("${seating.catalog.max-events:1000}") int maxEvents,
+                        @Value("${seating.catalog.max-age-ms:60000}") long maxAgeMs,
+                        @Value("${seating.catalog.missing-seat-ttl-ms:5000}") long missingSeatTtlMs,
+                        @Value("${seating.catalog.max-missing-seats:10000}") int maxMissingSeats) {
+        this.eventsRepo = eventsRepo;
+        this.seatRepo = seatRepo;
+        this.maxAgeMs = maxAgeMs;
+        this.missingSeatTtlMs = missingSeatTtlMs;
+        this.events = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedEvent> eldest) {
+                return size() > maxEvents;
+            }
+        };
+        this.seats = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, EventCatalog> eldest) {
+                return size() > maxEvents;
+            }
+        };
+        this.missingSeats = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > maxMissingSeats;
+            }
+        };
+        this.eventHits = lookups(registry, "events", "hit");
+        this.eventMisses = lookups(registry, "events", "miss");
+        this.seatHits = lookups(registry, "seats", "hit");
+        this.seatMisses = lookups(registry, "seats", "miss");
+        this.codeHits = lookups(registry, "seat-code", "hit");
+        this.codeMisses = lookups(registry, "seat-code", "miss");
+        Gauge.builder("seating.catalog.events.cached", this, c -> c.size())
+                .description("Events whose seats are in the catalog cache")
+                .register(registry);
+    }
+
+    /** The event, or empty for an id the DB does not have (misses are not cached). */
+    public Optional<Events> event(String eventId) {
+        long generation;
+        lock.lock();
+        try {
+            CachedEvent c = events.get(eventId);
+            if (c != null && System.currentTimeMillis() - c.loadedAt < maxAgeMs) {
+                eventHits.increment();
+                return Optional.of(c.event);
+            }
+            generation = eventGeneration;
+        } finally {
+            lock.unlock();
+        }
+        eventMisses.increment();
+        Optional<Events> loaded = eventsRepo.findById(eventId).<Events>map(ReadOnlyEvent::new);
+        loaded.ifPresent(e -> locked(() -> generation == eventGeneration ? events.put(eventId, new CachedEvent(e)) : null));
+        return loaded;
+    }
+
+    /** The event's seats in DB order; empty for an unknown event. */
+    public List<EventSeat> seats(String eventId) {
+        return catalog(eventId).seats;
+    }
+
+    /** The seat with this code, from the cached seats or, for a code they lack, the DB. */
+    public Optional<EventSeat> seat(String eventId, String seatCode) {
+        EventSeat s = catalog(eventId).byCode.get(seatCode);
+        if (s != null) {
+            codeHits.increment();
+            return Optional.of(s);
+        }
+        String key = eventId + "|" + seatCode;
+        Long missingUntil = locked(() -> missingSeats.get(key));
+        if (missingUntil != null && missingUntil > System.currentTimeMillis()) {
+            codeHits.increment();
+            return Optional.empty();
+        }
+        codeMisses.increment();
+        Optional<EventSeat> loaded = seatRepo.findByEventIdAndSeatCode(eventId, seatCode).<EventSeat>map(ReadOnlySeat::new);
+        if (loaded.isPresent()) {
+            // added by another instance; the next lookup reloads the event's seats
+            invalidateSeats(eventId);
+        } else {
+            locked(() -> missingSeats.put(key, System.currentTimeMillis() + missingSeatTtlMs));
+        }
+        return loaded;
+    }
+
+    public void invalidateEvent(String eventId) {
+        locked(() -> {
+            eventGeneration++;
+            return events.remove(eventId);
+        });
+    }
+
+    public void invalidateSeats(String eventId) {
+        String prefix = eventId + "|";
+        locked(() -> {
+            seatGeneration++;
+            seats.remove(eventId);
+            missingSeats.keySet().removeIf(k -> k.startsWith(prefix));
+            return null;
+        });
+    }
+
+    // ahead of the availability index (order 0), which reloads its seats from here
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(-10)
+    public void onSeatLayoutChanged(SeatLayoutChangedEvent e) {
+        invalidateSeats(e.getEventId());
+    }
+
+    private EventCatalog catalog(String eventId) {
+        long generation;
+        lock.lock();
+        try {
+            EventCatalog c = seats.get(eventId);
+            if (c != null && System.currentTimeMillis() - c.loadedAt < maxAgeMs) {
+                seatHits.increment();
+                return c;
+            }
+            generation = seatGeneration;
+        } finally {
+            lock.unlock();
+        }
+        // loaded outside the lock; two concurrent misses both load and the later one wins
+        seatMisses.increment();
+        EventCatalog loaded = new EventCatalog(seatRepo.findByEventId(eventId).stream().<EventSeat>map(ReadOnlySeat::new).toList());
+        locked(() -> generation == seatGeneration ? seats.put(eventId, loaded) : null);
+        return loaded;
+    }
+
+    private int size() {
+        return locked(seats::size);
+    }
+
+    private <T> T locked(Supplier<T> body) {
+        lock.lock();
+        try {
+            return body.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static Counter lookups(MeterRegistry registry, String cache, String result) {
+        return Counter.builder("seating.catalog.lookups")
+                .description("Catalog cache lookups")
+                .tag("cache", cache)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static final class CachedEvent {
+        final Events event;
+        final long loadedAt = System.currentTimeMillis();
+
+        CachedEvent(Events event) {
+            this.event = event;
+        }
+    }
+
+    private static final class EventCatalog {
+        final List<EventSeat> seats;
+        final Map<String, EventSeat> byCode;
+        final long loadedAt = System.currentTimeMillis();
+
+        EventCatalog(List<EventSeat> seats) {
+            this.seats = Collections.unmodifiableList(seats);
+            this.byCode = new HashMap<>(seats.size() * 2);
+            for (EventSeat s : seats) byCode.put(s.getSeatCode(), s);
+        }
+    }
+
+    // not entities to Hibernate: passing one to save or merge fails rather than writing a cached row
+    private static final class ReadOnlyEvent extends Events {
+        ReadOnlyEvent(Events e) {
+            super.setEventId(e.getEventId());
+            super.setEventName(e.getEventName());
+        }
+
+        @Override public void setEventId(String eventId) { throw readOnly(); }
+        @Override public void setEventName(String eventName) { throw readOnly(); }
+    }
+
+    private static final class ReadOnlySeat extends EventSeat {
+        ReadOnlySeat(EventSeat s) {
+            super.setId(s.getId());
+            super.setEventId(s.getEventId());
+            super.setSeatCode(s.getSeatCode());
+            super.setSection(s.getSection());
+            super.setRowLabel(s.getRowLabel());
+            super.setSeatNumber(s.getSeatNumber());
+            super.setPrice(s.getPrice());
+        }
+
+        @Override public void setId(String id) { throw readOnly(); }
+        @Override public void setEventId(String eventId) { throw readOnly(); }
+        @Override public void setSeatCode(String seatCode) { throw readOnly(); }
+        @Override public void setSection(String section) { throw readOnly(); }
+        @Override public void setRowLabel(String rowLabel) { throw readOnly(); }
+        @Override public void setSeatNumber(Integer seatNumber) { throw readOnly(); }
+        @Override public void setPrice(BigDecimal price) { throw readOnly(); }
+    }
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("Catalog cache rows are read-only");
+    }
+}
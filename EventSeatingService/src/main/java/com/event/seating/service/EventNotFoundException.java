@@ -0,0 +1,11 @@
+package com.event.seating.service;
+
+/**
+ * An event id the catalog does not know; surfaced as 404.
+ */
+public class EventNotFoundException extends RuntimeException {
+
+    public EventNotFoundException(String eventId) {
+        super("Event not found: " + eventId);
+    }
+}
@@ -0,0 +1,71 @@
+package com.event.seating.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Runs hold commands (reserve/allocate/release) for one event one at a time.
+ * - Each event hashes to one of a fixed set of fair locks (stripes), so commands for an event queue up FIFO
+ *   outside the DB instead of racing into row locks and deadlock retries. Memory stays fixed however many
+ *   events are seen; two events only wait on each other when they share a stripe.
+ * - The lock is taken before the transaction starts and released after it commits.
+ * - ReentrantLock (not synchronized) so that waiting callers do not pin carrier threads when
+ *   request handling runs on virtual threads.
+ */
+@Component
+public class EventSequencer {
+
+    private final ReentrantLock[] stripes;
+    private final long lockTimeoutMs;
+
+    public EventSequencer(@Value("${seating.sequencer.lock-timeout-ms:5000}") long lockTimeoutMs,
+                          @Value("${seating.sequencer.stripes:1024}") int stripes) {
+        if (stripes < 1) throw new IllegalArgumentException("seating.sequencer.stripes must be at least 1");
+        this.lockTimeoutMs = lockTimeoutMs;
+        this.stripes = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock(true);
+        }
+    }
+
+    public <T> T execute(String eventId, Supplier<T> command) {
+        ReentrantLock lock = stripe(eventId);
+        boolean acquired;
+        try {
+            acquired = lock.tryLock(lockTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for event: " + eventId);
+        }
+        if (!acquired) {
+            throw new IllegalStateException("Event busy, please retry: " + eventId);
+        }
+        try {
+            return command.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void run(String eventId, Runnable command) {
+        execute(eventId, () -> {
+            command.run();
+            return null;
+        });
+    }
+
+    /** Number of commands currently waiting for the event's stripe, including other events on it (for diagnostics). */
+    public int queueLength(String eventId) {
+        return stripe(eventId).getQueueLength();
+    }
+
+    private ReentrantLock stripe(String eventId) {
+        int h = eventId.hashCode();
+        // fold the high bits in, as HashMap does
+        return stripes[Math.floorMod(h ^ (h >>> 16), stripes.length)];
+    }
+}
@@ -0,0 +1,132 @@
+package com.event.seating.service;
+
+import com.event.seating.model.EventSeat;
+import com.event.seating.model.SeatHold;
+import com.event.seating.model.SeatHoldStatus;
+import com.event.seating.model.Uuids;
+import com.event.seating.repository.EventSeatRepository;
+import com.event.seating.repository.SeatHoldRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Brings the hold table up to date before the application serves requests (it runs once every bean
+ * exists, ahead of the web server and the schedulers):
+ * - drops hold.seat_codes, which earlier versions filled and ddl-auto=update never removes;
+ * - creates Hold headers for seat_hold lines written before the header existed, from the lines' own
+ *   status/order columns, batch-size tokens per transaction with plain JDBC batch inserts.
+ * A no-op once the column is gone and every line has its header.
+ */
+@Component
+public class HoldBackfill implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(HoldBackfill.class);
+
+    private static final String INSERT = "INSERT INTO hold (hold_token, event_id, user_id, status, hold_expiry,"
+            + " created_at, allocated_at, order_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final SeatHoldRepository holdRepo;
+    private final EventSeatRepository seatRepo;
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final BinaryIdSchemaCheck schemaCheck;
+    private final int batchSize;
+
+    public HoldBackfill(SeatHoldRepository holdRepo, EventSeatRepository seatRepo, JdbcTemplate jdbc,
+                        TransactionTemplate tx, BinaryIdSchemaCheck schemaCheck,
+                        @Value("${seating.backfill.batch-size:1000}") int batchSize) {
+        this.holdRepo = holdRepo;
+        this.seatRepo = seatRepo;
+        this.jdbc = jdbc;
+        this.tx = tx;
+        this.schemaCheck = schemaCheck;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        // reads BINARY(16) ids below: an un-migrated schema should fail with the migration hint, not a JDBC error
+        schemaCheck.check();
+        dropSeatCodes();
+        backfill();
+    }
+
+    public void backfill() {
+        int total = 0;
+        Integer done;
+        while ((done = tx.execute(status -> backfillChunk())) != null && done > 0) {
+            total += done;
+        }
+        if (total > 0) log.info("Backfilled {} hold headers for existing seat holds", total);
+    }
+
+    private int backfillChunk() {
+        List<String> tokens = holdRepo.findTokensWithoutHeader(PageRequest.of(0, batchSize));
+        if (tokens.isEmpty()) return 0;
+
+        Map<String, List<SeatHold>> byToken = holdRepo.findByHoldTokenIn(tokens).stream()
+                .collect(Collectors.groupingBy(SeatHold::getHoldToken, LinkedHashMap::new, Collectors.toList()));
+        List<String> seatIds = byToken.values().stream().flatMap(List::stream)
+                .map(SeatHold::getEventSeatId).distinct().collect(Collectors.toList());
+        Map<String, EventSeat> seats = seatRepo.findAllById(seatIds).stream()
+                .collect(Collectors.toMap(EventSeat::getId, Function.identity()));
+
+        List<Object[]> rows = new ArrayList<>(byToken.size());
+        byToken.forEach((token, lines) -> rows.add(header(token, lines, seats)));
+        jdbc.batchUpdate(INSERT, rows);
+        return rows.size();
+    }
+
+    private static Object[] header(String token, List<SeatHold> lines, Map<String, EventSeat> seats) {
+        SeatHold first = lines.stream().min(Comparator.comparing(SeatHold::getCreatedAt)).orElseThrow();
+        // holds without event_id are resolved through their seat
+        EventSeat firstSeat = seats.get(first.getEventSeatId());
+        String eventId = first.getEventId() != null ? first.getEventId() : firstSeat != null ? firstSeat.getEventId() : null;
+        Timestamp expiry = Timestamp.from(lines.stream().map(SeatHold::getHoldExpiry)
+                .min(Comparator.naturalOrder()).orElseThrow().toInstant());
+
+        // an allocated line makes the whole token allocated; otherwise any open line keeps it open
+        SeatHold allocated = lines.stream().filter(l -> l.getStatus() == SeatHoldStatus.ALLOCATED).findFirst().orElse(null);
+        SeatHoldStatus status = allocated != null ? SeatHoldStatus.ALLOCATED
+                : lines.stream().anyMatch(l -> l.getStatus() == SeatHoldStatus.HOLD) ? SeatHoldStatus.HOLD
+                : SeatHoldStatus.RELEASED;
+        return new Object[] {
+                Uuids.toBytes(token), eventId, first.getUserId(), status.name(), expiry,
+                Timestamp.from(first.getCreatedAt().toInstant()),
+                allocated != null && allocated.getAllocatedAt() != null ? Timestamp.from(allocated.getAllocatedAt().toInstant()) : null,
+                allocated != null ? allocated.getOrderId() : null
+        };
+    }
+
+    // seat codes are read from the hold's lines now; the old NOT NULL column would reject new headers
+    private void dropSeatCodes() {
+        Boolean present = jdbc.execute((ConnectionCallback<Boolean>) c -> {
+            DatabaseMetaData md = c.getMetaData();
+            try (ResultSet rs = md.getColumns(c.getCatalog(), c.getSchema(), "hold", "seat_codes")) {
+                return rs.next();
+            }
+        });
+        if (Boolean.TRUE.equals(present)) {
+            jdbc.execute("ALTER TABLE hold DROP COLUMN seat_codes");
+            log.info("Dropped hold.seat_codes");
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.event.seating.service;
+
+import com.event.seating.dto.HoldNotification;
+
+import java.util.List;
+
+/**
+ * Destination of hold notifications drained from the outbox, chosen with seating.outbox.sink
+ * (webhook, or local by default). A batch is delivered as a whole or not at all: throwing makes the
+ * dispatcher keep every row of it and retry after a back-off.
+ */
+public interface HoldEventSink {
+
+    void deliver(List<HoldNotification> batch);
+}
@@ -0,0 +1,82 @@
+package com.event.seating.service;
+
+import com.event.seating.dto.HoldNotification;
+import com.event.seating.model.HoldEventType;
+import com.event.seating.model.HoldOutboxEvent;
+import com.event.seating.model.HoldSeat;
+import com.event.seating.model.Uuids;
+import com.event.seating.repository.HoldOutboxRepository;
+import com.event.seating.repository.HoldSeatView;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes hold transitions to the hold_outbox table in the caller's transaction, so a notification exists
+ * exactly when the transition committed. HoldOutboxDispatcher delivers them off the request path.
+ */
+@Component
+public class HoldOutbox {
+
+    private final HoldOutboxRepository repo;
+    private final ObjectMapper objectMapper;
+
+    public HoldOutbox(HoldOutboxRepository repo, ObjectMapper objectMapper) {
+        this.repo = repo;
+        this.objectMapper = objectMapper;
+    }
+
+    /** One notification for one hold token, covering the given seat lines of it. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(HoldEventType type, String holdToken, String eventId, String userId, String orderId,
+                       Collection<? extends HoldSeat> seats) {
+        repo.save(row(type, holdToken, eventId, userId, orderId, seats, OffsetDateTime.now()));
+    }
+
+    /** One notification per hold token among the seat lines, e.g. for a batch of expired holds. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(HoldEventType type, Collection<HoldSeatView> seats) {
+        Map<String, List<HoldSeatView>> byToken = new LinkedHashMap<>();
+        for (HoldSeatView s : seats) {
+            byToken.computeIfAbsent(s.getHoldToken(), k -> new ArrayList<>()).add(s);
+        }
+        OffsetDateTime now = OffsetDateTime.now();
+        List<HoldOutboxEvent> rows = new ArrayList<>(byToken.size());
+        byToken.forEach((token, lines) -> rows.add(
+                row(type, token, lines.get(0).getEventId(), lines.get(0).getUserId(), null, lines, now)));
+        repo.saveAll(rows);
+    }
+
+    private HoldOutboxEvent row(HoldEventType type, String holdToken, String eventId, String userId, String orderId,
+                                Collection<? extends HoldSeat> seats, OffsetDateTime now) {
+        HoldNotification n = new HoldNotification();
+        n.setType(type.name());
+        n.setHoldToken(holdToken);
+        n.setEventId(eventId);
+        n.setUserId(userId);
+        n.setOrderId(orderId);
+        n.setEventSeatIds(seats.stream().map(HoldSeat::getEventSeatId).toList());
+        n.setOccurredAt(now);
+
+        HoldOutboxEvent row = new HoldOutboxEvent();
+        row.setId(Uuids.newId());
+        row.setHoldToken(holdToken);
+        row.setType(type);
+        row.setCreatedAt(now);
+        try {
+            row.setPayload(objectMapper.writeValueAsString(n));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot serialize hold notification", ex);
+        }
+        return row;
+    }
+}
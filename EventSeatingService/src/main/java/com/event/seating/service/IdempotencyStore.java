@@ -0,0 +1,167 @@
+package com.event.seating.service;
+
+import com.event.seating.model.IdempotencyRecord;
+import com.event.seating.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.OffsetDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Responses of idempotent writes (reserve/allocate/release), keyed by operation and client idempotency key.
+ * - A bounded in-memory LRU with TTL answers client retries without touching the DB.
+ * - The idempotency_record table behind it is the source of truth; it is written in the same transaction
+ *   as the write itself, so a retry after a timeout sees either no effect or the stored response.
+ * - Reusing a key for a different request of the same operation is rejected.
+ */
+@Component
+public class IdempotencyStore {
+
+    private final IdempotencyRecordRepository repo;
+    private final ObjectMapper objectMapper;
+    private final long ttlSeconds;
+    private final Map<String, Entry> recent;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public IdempotencyStore(IdempotencyRecordRepository repo, ObjectMapper objectMapper,
+                            @Value("${seating.idempotency.cache-size:10000}") int cacheSize,
+                            @Value("${seating.idempotency.ttl-seconds:86400}") long ttlSeconds) {
+        this.repo = repo;
+        this.objectMapper = objectMapper;
+        this.ttlSeconds = ttlSeconds;
+        this.recent = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /** Stored response from the in-memory front only; cheap enough to check before taking any lock. */
+    public <T> Optional<T> cached(String operation, String key, Object request, Class<T> type) {
+        if (isBlank(key)) return Optional.empty();
+        Entry e = get(id(operation, key));
+        if (e == null) return Optional.empty();
+        checkSameRequest(e.requestHash, request);
+        return Optional.of(read(e.body, type));
+    }
+
+    /** Stored response from memory or, failing that, the DB. */
+    public <T> Optional<T> find(String operation, String key, Object request, Class<T> type) {
+        if (isBlank(key)) return Optional.empty();
+        Optional<T> hit = cached(operation, key, request, type);
+        if (hit.isPresent()) return hit;
+
+        String id = id(operation, key);
+        Optional<IdempotencyRecord> rec = repo.findById(id)
+                .filter(r -> r.getExpiresAt().isAfter(OffsetDateTime.now()));
+        if (rec.isEmpty()) return Optional.empty();
+        checkSameRequest(rec.get().getRequestHash(), request);
+        put(id, new Entry(rec.get().getRequestHash(), rec.get().getResponseBody(),
+                rec.get().getExpiresAt().toInstant().toEpochMilli()));
+        return Optional.of(read(rec.get().getResponseBody(), type));
+    }
+
+    /**
+     * Records the response in the current transaction; it reaches the in-memory front once that commits.
+     * A concurrent write that stored the same key first makes the insert (and so the transaction) fail.
+     * A key reused after its TTL replaces the expired record, even if purgeExpired has not removed it yet.
+     */
+    public void save(String operation, String key, Object request, Object response) {
+        if (isBlank(key)) return;
+        if (key.length() > 128) throw new IllegalArgumentException("Idempotency key too long (max 128)");
+        OffsetDateTime now = OffsetDateTime.now();
+        IdempotencyRecord rec = new IdempotencyRecord();
+        rec.setId(id(operation, key));
+        rec.setRequestHash(hash(request));
+        rec.setResponseBody(write(response));
+        rec.setCreatedAt(now);
+        rec.setExpiresAt(now.plusSeconds(ttlSeconds));
+        repo.deleteExpiredById(rec.getId(), now);
+        repo.insert(rec);
+        Entry e = new Entry(rec.getRequestHash(), rec.getResponseBody(), rec.getExpiresAt().toInstant().toEpochMilli());
+        TransactionHooks.afterCommit(() -> put(rec.getId(), e));
+    }
+
+    @Scheduled(fixedDelayString = "${seating.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        repo.deleteExpired(OffsetDateTime.now());
+    }
+
+    private Entry get(String id) {
+        lock.lock();
+        try {
+            Entry e = recent.get(id);
+            if (e != null && e.expiresAtMillis <= System.currentTimeMillis()) {
+                recent.remove(id);
+                return null;
+            }
+            return e;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void put(String id, Entry e) {
+        lock.lock();
+        try {
+            recent.put(id, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void checkSameRequest(String storedHash, Object request) {
+        if (!storedHash.equals(hash(request))) {
+            throw new IllegalArgumentException("Idempotency key already used for a different request");
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(write(request).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private String write(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize idempotent response", ex);
+        }
+    }
+
+    private <T> T read(String body, Class<T> type) {
+        try {
+            return objectMapper.readValue(body, type);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not read idempotent response", ex);
+        }
+    }
+
+    private static String id(String operation, String key) {
+        return operation + ":" + key;
+    }
+
+    private static boolean isBlank(String key) {
+        return key == null || key.isBlank();
+    }
+
+    private record Entry(String requestHash, String body, long expiresAtMillis) {
+    }
+}
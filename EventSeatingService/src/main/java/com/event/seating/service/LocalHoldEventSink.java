@@ -0,0 +1,45 @@
+package com.event.seating.service;
+
+import com.event.seating.dto.HoldNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * In-process stand-in for the webhook, for local runs and tests: logs each batch and keeps the most
+ * recent notifications in memory.
+ */
+@Component
+@ConditionalOnProperty(name = "seating.outbox.sink", havingValue = "local", matchIfMissing = true)
+public class LocalHoldEventSink implements HoldEventSink {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalHoldEventSink.class);
+
+    private final int capacity;
+    private final Deque<HoldNotification> recent = new ArrayDeque<>();
+
+    public LocalHoldEventSink(@Value("${seating.outbox.local.capacity:1000}") int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized void deliver(List<HoldNotification> batch) {
+        log.info("Hold notifications: {}", batch.stream().map(n -> n.getType() + " " + n.getHoldToken()).toList());
+        for (HoldNotification n : batch) {
+            if (recent.size() == capacity) recent.removeFirst();
+            recent.addLast(n);
+        }
+    }
+
+    /** Delivered notifications, oldest first. */
+    public synchronized List<HoldNotification> recent() {
+        return new ArrayList<>(recent);
+    }
+}
@@ -0,0 +1,18 @@
+package com.event.seating.service;
+
+/**
+ * A reserve rejected before doing any work because its user or event is over a limit; surfaced as 429.
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
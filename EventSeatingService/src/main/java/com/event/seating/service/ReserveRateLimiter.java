@@ -0,0 +1,148 @@
+package com.event.seating.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission checks for reserve.
+ * - Token buckets per user and per event (rate per second plus burst), checked before any repository access.
+ *   Each bucket is a single AtomicLong holding its theoretical arrival time (GCRA, equivalent to a token bucket),
+ *   updated with one CAS. Both buckets are checked before either is charged, so a request refused by one costs
+ *   nothing in the other.
+ * - A cap on seats in live holds per user per event, counted from holds this instance created; allocate, release
+ *   and expiry end them. Checked and recorded in one step when the reserve's seats are known, under the event's
+ *   sequencer lock. With several instances the cap applies per instance.
+ */
+@Component
+public class ReserveRateLimiter {
+
+    private final long userIntervalNanos;
+    private final long userToleranceNanos;
+    private final long eventIntervalNanos;
+    private final long eventToleranceNanos;
+    private final int maxActiveSeats;
+    private final SeatingMetrics metrics;
+    private final ConcurrentHashMap<String, AtomicLong> userBuckets = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, AtomicLong> eventBuckets = new ConcurrentHashMap<>();
+    // "eventId|userId" -> (hold token -> its seats and expiry)
+    private final ConcurrentHashMap<String, Map<String, LiveHold>> activeHolds = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, String> holdOwners = new ConcurrentHashMap<>();
+
+    public ReserveRateLimiter(SeatingMetrics metrics,
+                              @Value("${seating.ratelimit.user.per-second:2}") double userPerSecond,
+                              @Value("${seating.ratelimit.user.burst:5}") int userBurst,
+                              @Value("${seating.ratelimit.event.per-second:500}") double eventPerSecond,
+                              @Value("${seating.ratelimit.event.burst:1000}") int eventBurst,
+                              @Value("${seating.ratelimit.max-active-seats:20}") int maxActiveSeats) {
+        this.metrics = metrics;
+        this.userIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / userPerSecond);
+        this.userToleranceNanos = userIntervalNanos * (userBurst - 1);
+        this.eventIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / eventPerSecond);
+        this.eventToleranceNanos = eventIntervalNanos * (eventBurst - 1);
+        this.maxActiveSeats = maxActiveSeats;
+    }
+
+    /** Takes one token from both the user's and the event's bucket, or throws. */
+    public void acquire(String eventId, String userId) {
+        AtomicLong user = userBuckets.computeIfAbsent(userId, k -> new AtomicLong(Long.MIN_VALUE));
+        AtomicLong event = eventBuckets.computeIfAbsent(eventId, k -> new AtomicLong(Long.MIN_VALUE));
+        while (true) {
+            long now = System.nanoTime();
+            long u = user.get();
+            long e = event.get();
+            long userNext = next(u, now, userIntervalNanos, userToleranceNanos, "user");
+            long eventNext = next(e, now, eventIntervalNanos, eventToleranceNanos, "event");
+            if (!user.compareAndSet(u, userNext)) continue;
+            if (event.compareAndSet(e, eventNext)) return;
+            // the event bucket moved in between: give the user's token back and check both again
+            user.addAndGet(-userIntervalNanos);
+        }
+    }
+
+    /**
+     * Counts a new hold of the given number of seats against its user's live seats for the event, or throws
+     * if that would go over the cap. Call it inside the reserve's transaction, under the event's sequencer lock,
+     * and end the hold with holdEnded if that transaction does not commit.
+     */
+    public void holdStarted(String eventId, String userId, String holdToken, int seats, long expiresAtMillis) {
+        String key = eventId + "|" + userId;
+        long now = System.currentTimeMillis();
+        // check and put inside compute: purge cannot drop the map in between, and no other hold of the key interleaves
+        activeHolds.compute(key, (k, holds) -> {
+            Map<String, LiveHold> m = holds != null ? holds : new ConcurrentHashMap<>();
+            m.values().removeIf(h -> h.expiresAtMillis <= now);
+            int live = m.values().stream().mapToInt(LiveHold::seats).sum();
+            if (live + seats > maxActiveSeats) {
+                long soonest = m.values().stream().mapToLong(LiveHold::expiresAtMillis).min().orElse(now);
+                metrics.rateLimited("active-seats");
+                throw new RateLimitExceededException("Too many held seats for this event (max " + maxActiveSeats + ")",
+                        toSeconds(TimeUnit.MILLISECONDS.toNanos(soonest - now)));
+            }
+            m.put(holdToken, new LiveHold(seats, expiresAtMillis));
+            return m;
+        });
+        holdOwners.put(holdToken, key);
+    }
+
+    /** The hold was allocated or released; it no longer counts towards its user's cap. */
+    public void holdEnded(String holdToken) {
+        String key = holdOwners.remove(holdToken);
+        if (key == null) return;
+        Map<String, LiveHold> holds = activeHolds.get(key);
+        if (holds != null) holds.remove(holdToken);
+    }
+
+    // drops idle buckets and expired holds so the maps stay sized to current traffic
+    @Scheduled(fixedDelayString = "${seating.ratelimit.purge-interval-ms:60000}")
+    public void purge() {
+        long nanos = System.nanoTime();
+        userBuckets.forEach((k, b) -> {
+            if (idle(b, nanos)) userBuckets.remove(k, b);
+        });
+        eventBuckets.forEach((k, b) -> {
+            if (idle(b, nanos)) eventBuckets.remove(k, b);
+        });
+        long now = System.currentTimeMillis();
+        holdOwners.entrySet().removeIf(e -> {
+            Map<String, LiveHold> holds = activeHolds.get(e.getValue());
+            LiveHold hold = holds == null ? null : holds.get(e.getKey());
+            if (hold != null && hold.expiresAtMillis > now) return false;
+            if (holds != null) holds.remove(e.getKey());
+            return true;
+        });
+        // computeIfPresent serialises with holdStarted, so a map that just got a hold is kept
+        for (String key : activeHolds.keySet()) {
+            activeHolds.computeIfPresent(key, (k, holds) -> holds.isEmpty() ? null : holds);
+        }
+    }
+
+    // the bucket's arrival time after taking one token from it, or throws if the bucket is empty
+    private long next(long current, long now, long interval, long tolerance, String reason) {
+        long next = (current == Long.MIN_VALUE || current - now < 0 ? now : current) + interval;
+        long wait = next - now - interval - tolerance;
+        if (wait > 0) {
+            metrics.rateLimited(reason);
+            throw new RateLimitExceededException("Too many reserve requests for this " + reason, toSeconds(wait));
+        }
+        return next;
+    }
+
+    // a bucket whose arrival time has passed is full again and can be recreated on demand
+    private static boolean idle(AtomicLong tat, long nanos) {
+        long v = tat.get();
+        return v == Long.MIN_VALUE || v - nanos < 0;
+    }
+
+    private static long toSeconds(long nanos) {
+        return Math.max(1, (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private record LiveHold(int seats, long expiresAtMillis) {
+    }
+}
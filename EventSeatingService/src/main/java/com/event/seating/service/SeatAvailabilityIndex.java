@@ -0,0 +1,429 @@
+package com.event.seating.service;
+
+import com.event.seating.model.EventSeat;
+import com.event.seating.model.HoldSeat;
+import com.event.seating.model.SeatClaim;
+import com.event.seating.repository.SeatClaimRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+import java.util.function.Supplier;
+
+/**
+ * In-memory seat availability per event.
+ * - Each seat of an event gets a stable ordinal (seats ordered by section, row, seat number, code).
+ * - Per ordinal we keep the hold expiry in epoch millis: FREE (0), a HOLD expiry, or ALLOCATED.
+ * - An event is loaded on first touch (seats from the catalog cache, claims from seat_claim) and kept current
+ *   from committed SeatStatusChangedEvents. Only events the catalog knows are loaded, at most max-events of
+ *   them (LRU); an evicted event is simply loaded again on its next touch.
+ * - Held and allocated seats are also counted per section, adjusted on every slot change, so availability
+ *   counts are read without scanning the slots.
+ */
+@Component
+public class SeatAvailabilityIndex {
+
+    static final long FREE = 0L;
+    static final long ALLOCATED = Long.MAX_VALUE;
+
+    private final CatalogCache catalog;
+    private final SeatClaimRepository claimRepo;
+    private final Map<String, EventSeats> events;
+    // events being loaded, with the transitions committed meanwhile, replayed onto the loaded index
+    private final Map<String, Loading> loading = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    // bumped by every layout change, so a load that raced with one is not cached
+    private long layoutGeneration;
+
+    public SeatAvailabilityIndex(CatalogCache catalog, SeatClaimRepository claimRepo,
+                                 @Value("${seating.availability.max-events:1000}") int maxEvents) {
+        this.catalog = catalog;
+        this.claimRepo = claimRepo;
+        this.events = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, EventSeats> eldest) {
+                return size() > maxEvents;
+            }
+        };
+    }
+
+    /**
+     * Returns the index for an event, loading it from the DB if this is the first touch.
+     * @throws EventNotFoundException if the catalog has no such event
+     */
+    public EventSeats seats(String eventId) {
+        Loading pending;
+        long generation;
+        lock.lock();
+        try {
+            EventSeats m = events.get(eventId);
+            if (m != null) return m;
+            pending = loading.computeIfAbsent(eventId, k -> new Loading());
+            pending.loaders++;
+            generation = layoutGeneration;
+        } finally {
+            lock.unlock();
+        }
+        // loaded outside the lock; two concurrent misses both load and the first one installed wins
+        EventSeats loaded;
+        try {
+            loaded = load(eventId);
+        } catch (RuntimeException ex) {
+            locked(() -> install(eventId, pending, generation, null));
+            throw ex;
+        }
+        return locked(() -> install(eventId, pending, generation, loaded));
+    }
+
+    /**
+     * Rebuilds an event right away, for when a caller sees a seat the index does not know about.
+     */
+    public EventSeats reload(String eventId) {
+        locked(() -> events.remove(eventId));
+        return seats(eventId);
+    }
+
+    /** Snapshot of the events currently loaded in the index; reading it loads nothing and leaves the LRU order alone. */
+    public Map<String, EventSeats> loaded() {
+        return locked(() -> Map.copyOf(events));
+    }
+
+    // runs before the other commit listeners so that they observe the updated index
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(0)
+    public void onSeatStatusChanged(SeatStatusChangedEvent e) {
+        switch (e.getStatus()) {
+            case HOLD -> held(e.getEventId(), e.getSeats());
+            case ALLOCATED -> allocated(e.getEventId(), e.getSeats());
+            case RELEASED -> released(e.getEventId(), e.getSeats());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(0)
+    public void onSeatLayoutChanged(SeatLayoutChangedEvent e) {
+        locked(() -> {
+            layoutGeneration++;
+            return events.remove(e.getEventId());
+        });
+    }
+
+    void held(String eventId, Collection<? extends HoldSeat> holds) {
+        apply(eventId, m -> {
+            for (HoldSeat h : holds) {
+                m.set(h.getEventSeatId(), h.getHoldExpiry().toInstant().toEpochMilli());
+            }
+        });
+    }
+
+    void allocated(String eventId, Collection<? extends HoldSeat> holds) {
+        apply(eventId, m -> {
+            for (HoldSeat h : holds) {
+                m.set(h.getEventSeatId(), ALLOCATED);
+            }
+        });
+    }
+
+    /**
+     * Frees the seats of the given holds, but only where the index still carries that hold's expiry,
+     * so a late release of an expired hold never wipes a newer hold on the same seat.
+     */
+    void released(String eventId, Collection<? extends HoldSeat> holds) {
+        apply(eventId, m -> {
+            for (HoldSeat h : holds) {
+                m.clear(h.getEventSeatId(), h.getHoldExpiry().toInstant().toEpochMilli());
+            }
+        });
+    }
+
+    private void apply(String eventId, Consumer<EventSeats> update) {
+        if (eventId == null) return;
+        EventSeats m = locked(() -> {
+            EventSeats current = events.get(eventId);
+            Loading pending = loading.get(eventId);
+            // committed after a load may have read the DB: kept for replay so the update is never lost
+            if (current == null && pending != null) pending.updates.add(update);
+            return current;
+        });
+        // slot updates are atomic; an event that is neither loaded nor loading picks it up from the DB
+        if (m != null) update.accept(m);
+    }
+
+    // called under the lock; loaded is null when the load failed
+    private EventSeats install(String eventId, Loading pending, long generation, EventSeats loaded) {
+        if (--pending.loaders == 0) loading.remove(eventId);
+        if (loaded == null) return null;
+        EventSeats current = events.get(eventId);
+        if (current != null) return current;
+        // replaying a transition the load already saw is harmless: set is idempotent and clear compares first
+        pending.updates.forEach(u -> u.accept(loaded));
+        if (generation == layoutGeneration) events.put(eventId, loaded);
+        return loaded;
+    }
+
+    private <T> T locked(Supplier<T> body) {
+        lock.lock();
+        try {
+            return body.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private EventSeats load(String eventId) {
+        if (catalog.event(eventId).isEmpty()) throw new EventNotFoundException(eventId);
+        List<EventSeat> seats = new ArrayList<>(catalog.seats(eventId));
+        seats.sort(Comparator.comparing(EventSeat::getSection, Comparator.nullsLast(Comparator.<String>naturalOrder()))
+                .thenComparing(EventSeat::getRowLabel, Comparator.nullsLast(Comparator.<String>naturalOrder()))
+                .thenComparing(EventSeat::getSeatNumber, Comparator.nullsLast(Comparator.<Integer>naturalOrder()))
+                .thenComparing(EventSeat::getSeatCode));
+
+        // seat_claim has one row per taken seat, allocations of archived holds included; an expired hold stays
+        // held until released, as in countBySection
+        EventSeats m = new EventSeats(seats);
+        for (SeatClaim c : claimRepo.findByEventId(eventId)) {
+            m.set(c.getEventSeatId(), c.getExpiresAt() == null ? ALLOCATED : c.getExpiresAt().toInstant().toEpochMilli());
+        }
+        return m;
+    }
+
+    /**
+     * Seats of one event addressed by ordinal. Seat lists are immutable; only the expiry slots change.
+     * Every slot change also moves the seat between the free/held/allocated counters of its section; a held
+     * seat is counted until its hold is released, even once the expiry has passed.
+     */
+    public static final class EventSeats {
+        private final List<EventSeat> seats;
+        private final Map<String, Integer> ordinalBySeatId;
+        private final Map<String, Integer> ordinalByCode;
+        private final AtomicLongArray expiry;
+        private final String layoutVersion;
+        // first ordinal of each (section, row), plus size() as the end of the last row
+        private final int[] rowStarts;
+        // bit i set when seat i+1 is not the next seat number in the same row
+        private final BitSet breaks;
+        // sections in layout order, the section of each ordinal, and per section its seat count and counters
+        private final List<String> sections;
+        private final int[] sectionOf;
+        private final int[] sectionTotals;
+        private final LongAdder[] held;
+        private final LongAdder[] allocated;
+
+        EventSeats(List<EventSeat> seats) {
+            this.seats = Collections.unmodifiableList(seats);
+            this.ordinalBySeatId = new HashMap<>(seats.size() * 2);
+            this.ordinalByCode = new HashMap<>(seats.size() * 2);
+            for (int i = 0; i < seats.size(); i++) {
+                ordinalBySeatId.put(seats.get(i).getId(), i);
+                ordinalByCode.put(seats.get(i).getSeatCode(), i);
+            }
+            this.expiry = new AtomicLongArray(seats.size());
+            this.layoutVersion = digest(seats);
+
+            List<Integer> starts = new ArrayList<>();
+            this.breaks = new BitSet(seats.size());
+            for (int i = 0; i < seats.size(); i++) {
+                EventSeat s = seats.get(i);
+                EventSeat prev = i == 0 ? null : seats.get(i - 1);
+                if (prev == null || !Objects.equals(prev.getSection(), s.getSection())
+                        || !Objects.equals(prev.getRowLabel(), s.getRowLabel())) {
+                    starts.add(i);
+                    if (prev != null) breaks.set(i - 1);
+                } else if (prev.getSeatNumber() == null || s.getSeatNumber() == null
+                        || s.getSeatNumber() != prev.getSeatNumber() + 1) {
+                    breaks.set(i - 1);
+                }
+            }
+            starts.add(seats.size());
+            this.rowStarts = starts.stream().mapToInt(Integer::intValue).toArray();
+
+            List<String> names = new ArrayList<>();
+            this.sectionOf = new int[seats.size()];
+            for (int i = 0; i < seats.size(); i++) {
+                String section = seats.get(i).getSection();
+                if (names.isEmpty() || !Objects.equals(names.get(names.size() - 1), section)) names.add(section);
+                sectionOf[i] = names.size() - 1;
+            }
+            this.sections = Collections.unmodifiableList(names);
+            this.sectionTotals = new int[names.size()];
+            for (int s : sectionOf) sectionTotals[s]++;
+            this.held = new LongAdder[names.size()];
+            this.allocated = new LongAdder[names.size()];
+            for (int s = 0; s < names.size(); s++) {
+                held[s] = new LongAdder();
+                allocated[s] = new LongAdder();
+            }
+        }
+
+        public int size() { return seats.size(); }
+
+        public EventSeat seat(int ordinal) { return seats.get(ordinal); }
+
+        public List<EventSeat> seatList() { return seats; }
+
+        /** Hash of the ordered seat ids; equal on every instance for the same layout. */
+        public String layoutVersion() { return layoutVersion; }
+
+        /** @return ordinal of the seat code, or -1 if the event has no such seat */
+        public int ordinalOf(String seatCode) {
+            return ordinalByCode.getOrDefault(seatCode, -1);
+        }
+
+        /** A seat is taken if it is allocated or carries a hold that has not yet expired. */
+        public boolean isTaken(int ordinal, long nowMillis) {
+            long v = expiry.get(ordinal);
+            return v == ALLOCATED || v > nowMillis;
+        }
+
+        /**
+         * Best block of quantity free, eligible seats with consecutive seat numbers in one row: rows are tried
+         * in layout order and, within the first row that fits, the block nearest the row's centre wins.
+         * Works on a per-row free-seat bitset built from the expiry slots.
+         * @return ordinals of the block, or null if no row has one
+         */
+        public int[] findContiguous(int quantity, long nowMillis, IntPredicate eligible) {
+            for (int r = 0; r + 1 < rowStarts.length; r++) {
+                int start = rowStarts[r];
+                int len = rowStarts[r + 1] - start;
+                if (len < quantity) continue;
+
+                BitSet free = new BitSet(len);
+                for (int i = 0; i < len; i++) {
+                    if (!isTaken(start + i, nowMillis) && eligible.test(start + i)) free.set(i);
+                }
+
+                int best = -1;
+                double bestDistance = Double.MAX_VALUE;
+                double centre = (len - 1) / 2.0;
+                for (int w = free.nextSetBit(0); w >= 0 && w + quantity <= len; w = free.nextSetBit(w + 1)) {
+                    if (free.nextClearBit(w) < w + quantity) continue;
+                    int gap = breaks.nextSetBit(start + w);
+                    if (gap >= 0 && gap < start + w + quantity - 1) continue;
+                    double distance = Math.abs(w + (quantity - 1) / 2.0 - centre);
+                    if (distance < bestDistance) {
+                        bestDistance = distance;
+                        best = w;
+                    }
+                }
+                if (best >= 0) {
+                    int[] block = new int[quantity];
+                    for (int k = 0; k < quantity; k++) block[k] = start + best + k;
+                    return block;
+                }
+            }
+            return null;
+        }
+
+        /** Number of seats on a hold that has not yet expired. */
+        public int heldCount(long nowMillis) {
+            int n = 0;
+            for (int i = 0; i < expiry.length(); i++) {
+                long v = expiry.get(i);
+                if (v != ALLOCATED && v > nowMillis) n++;
+            }
+            return n;
+        }
+
+        /** Number of seats neither allocated nor on a live hold. */
+        public int freeCount(long nowMillis) {
+            int n = 0;
+            for (int i = 0; i < expiry.length(); i++) {
+                if (!isTaken(i, nowMillis)) n++;
+            }
+            return n;
+        }
+
+        /** @return FREE, ALLOCATED or the hold expiry in epoch millis */
+        public long expiryAt(int ordinal) {
+            return expiry.get(ordinal);
+        }
+
+        /** Same as expiryAt, by seat id; FREE for a seat the index does not know. */
+        public long expiryOf(String seatId) {
+            Integer o = ordinalBySeatId.get(seatId);
+            return o == null ? FREE : expiry.get(o);
+        }
+
+        /**
+         * Packs the status of every seat, 2 bits per seat (0 free, 1 held, 2 allocated), and reports each live hold.
+         */
+        public byte[] packStatus(long nowMillis, HoldVisitor holds) {
+            byte[] bits = new byte[(seats.size() + 3) / 4];
+            for (int i = 0; i < seats.size(); i++) {
+                long v = expiry.get(i);
+                int code;
+                if (v == ALLOCATED) {
+                    code = 2;
+                } else if (v > nowMillis) {
+                    code = 1;
+                    holds.held(i, v);
+                } else {
+                    continue;
+                }
+                bits[i >> 2] |= (byte) (code << ((i & 3) * 2));
+            }
+            return bits;
+        }
+
+        /** Section names in layout order (a null name for seats without a section); index with the methods below. */
+        public List<String> sections() { return sections; }
+
+        public int sectionTotal(int section) { return sectionTotals[section]; }
+
+        /** Seats of the section on a hold that has not been released yet. */
+        public long sectionHeld(int section) { return held[section].sum(); }
+
+        public long sectionAllocated(int section) { return allocated[section].sum(); }
+
+        void set(String seatId, long value) {
+            Integer o = ordinalBySeatId.get(seatId);
+            if (o == null) return;
+            long old = expiry.getAndSet(o, value);
+            count(o, old, -1);
+            count(o, value, 1);
+        }
+
+        void clear(String seatId, long expected) {
+            Integer o = ordinalBySeatId.get(seatId);
+            if (o != null && expiry.compareAndSet(o, expected, FREE)) count(o, expected, -1);
+        }
+
+        private void count(int ordinal, long slot, int delta) {
+            if (slot == FREE) return;
+            (slot == ALLOCATED ? allocated : held)[sectionOf[ordinal]].add(delta);
+        }
+
+        private static String digest(List<EventSeat> seats) {
+            try {
+                MessageDigest md = MessageDigest.getInstance("SHA-256");
+                for (EventSeat s : seats) {
+                    md.update(s.getId().getBytes(StandardCharsets.UTF_8));
+                    md.update((byte) 0);
+                }
+                return HexFormat.of().formatHex(md.digest(), 0, 8);
+            } catch (NoSuchAlgorithmException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+    }
+
+    private static final class Loading {
+        int loaders;
+        final List<Consumer<EventSeats>> updates = new ArrayList<>();
+    }
+
+    @FunctionalInterface
+    public interface HoldVisitor {
+        void held(int ordinal, long expiresAtMillis);
+    }
+}
@@ -0,0 +1,55 @@
+package com.event.seating.service;
+
+import com.event.seating.model.SeatClaim;
+import com.event.seating.model.SeatHoldStatus;
+import com.event.seating.repository.HoldSeatView;
+import com.event.seating.repository.SeatClaimRepository;
+import com.event.seating.repository.SeatHoldRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Creates seat_claim rows for active holds written before seat_claim existed.
+ * Runs once at startup and is a no-op once every active hold has its claim.
+ */
+@Component
+public class SeatClaimBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatClaimBackfill.class);
+
+    private final SeatHoldRepository holdRepo;
+    private final SeatClaimRepository claimRepo;
+
+    public SeatClaimBackfill(SeatHoldRepository holdRepo, SeatClaimRepository claimRepo) {
+        this.holdRepo = holdRepo;
+        this.claimRepo = claimRepo;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        // one claim per seat; an ALLOCATED hold wins over a HOLD on the same seat
+        Map<String, SeatClaim> claims = new LinkedHashMap<>();
+        for (HoldSeatView h : holdRepo.findActiveWithoutClaim(OffsetDateTime.now())) {
+            SeatClaim prev = claims.get(h.getEventSeatId());
+            if (prev != null && prev.getExpiresAt() == null) continue;
+            SeatClaim c = new SeatClaim();
+            c.setEventSeatId(h.getEventSeatId());
+            c.setHoldToken(h.getHoldToken());
+            c.setExpiresAt(h.getStatus() == SeatHoldStatus.ALLOCATED ? null : h.getHoldExpiry());
+            claims.put(h.getEventSeatId(), c);
+        }
+        if (!claims.isEmpty()) {
+            claimRepo.saveAll(claims.values());
+            log.info("Backfilled {} seat claims for existing holds", claims.size());
+        }
+    }
+}
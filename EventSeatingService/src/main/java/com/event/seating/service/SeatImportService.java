@@ -0,0 +1,227 @@
+package com.event.seating.service;
+
+import com.event.seating.dto.SeatCreateRequest;
+import com.event.seating.dto.SeatImportResult;
+import com.event.seating.model.EventSeat;
+import com.event.seating.model.Uuids;
+import com.event.seating.repository.EventSeatRepository;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Bulk seat import from CSV or NDJSON.
+ * - The body is parsed row by row; only the event's existing seat codes are held in memory.
+ * - New seats are written with JDBC batches of seating.import.batch-size rows, each committed on its own,
+ *   so a failed import can simply be re-run: rows already written are skipped as duplicates.
+ * - CSV needs a header row. Recognised columns: seatCode/seat_code, section, rowLabel/row_label/row,
+ *   seatNumber/seat_number, price and event_id. Without a seat code column the code is derived as
+ *   section + row + "-" + seat number (e.g. C24-13), which lets etsr_seats.csv be loaded as is.
+ */
+@Service
+public class SeatImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatImportService.class);
+
+    public enum Format { CSV, NDJSON }
+
+    private final EventSeatRepository seatRepo;
+    private final CatalogCache catalog;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher events;
+    private final int batchSize;
+
+    public SeatImportService(EventSeatRepository seatRepo, CatalogCache catalog, ObjectMapper objectMapper,
+                             ApplicationEventPublisher events,
+                             @Value("${seating.import.batch-size:1000}") int batchSize) {
+        this.seatRepo = seatRepo;
+        this.catalog = catalog;
+        this.objectMapper = objectMapper;
+        this.events = events;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @param sourceEventId when set, only CSV rows whose event_id column matches are imported
+     *                      (for multi-event source files such as etsr_seats.csv)
+     */
+    public SeatImportResult importSeats(String eventId, InputStream body, Format format, String sourceEventId) {
+        if (catalog.event(eventId).isEmpty()) {
+            throw new IllegalArgumentException("Event not found: " + eventId);
+        }
+        Batch batch = new Batch(eventId);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            if (format == Format.NDJSON) {
+                readNdjson(reader, batch);
+            } else {
+                readCsv(reader, batch, sourceEventId);
+            }
+            batch.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read seat import", ex);
+        } finally {
+            if (batch.result.getInserted() > 0) {
+                events.publishEvent(new SeatLayoutChangedEvent(eventId));
+            }
+        }
+        SeatImportResult result = batch.result;
+        result.setElapsedMs(System.currentTimeMillis() - batch.startedAt);
+        log.info("Seat import for event {} done: read={} inserted={} duplicates={} invalid={} in {} ms",
+                eventId, result.getRowsRead(), result.getInserted(), result.getDuplicates(), result.getInvalid(),
+                result.getElapsedMs());
+        return result;
+    }
+
+    private void readNdjson(BufferedReader reader, Batch batch) throws IOException {
+        try (MappingIterator<SeatCreateRequest> rows =
+                     objectMapper.readerFor(SeatCreateRequest.class).readValues(reader)) {
+            while (rows.hasNextValue()) {
+                batch.add(rows.nextValue());
+            }
+        }
+    }
+
+    private void readCsv(BufferedReader reader, Batch batch, String sourceEventId) throws IOException {
+        String header = reader.readLine();
+        if (header == null) return;
+        Map<String, Integer> cols = new HashMap<>();
+        List<String> names = splitCsv(header);
+        for (int i = 0; i < names.size(); i++) {
+            cols.put(names.get(i).trim().toLowerCase(Locale.ROOT).replace("_", ""), i);
+        }
+        Integer code = cols.get("seatcode");
+        Integer section = cols.get("section");
+        Integer row = cols.containsKey("rowlabel") ? cols.get("rowlabel") : cols.get("row");
+        Integer number = cols.get("seatnumber");
+        Integer price = cols.get("price");
+        Integer sourceEvent = cols.get("eventid");
+        if (code == null && number == null) {
+            throw new IllegalArgumentException("CSV needs a seatCode or seat_number column");
+        }
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) continue;
+            List<String> f = splitCsv(line);
+            if (sourceEventId != null && sourceEvent != null && !sourceEventId.equals(field(f, sourceEvent))) {
+                continue;
+            }
+            SeatCreateRequest req = new SeatCreateRequest();
+            try {
+                req.setSection(field(f, section));
+                req.setRowLabel(field(f, row));
+                String n = field(f, number);
+                req.setSeatNumber(n == null ? null : Integer.valueOf(n));
+                String p = field(f, price);
+                req.setPrice(p == null ? null : new BigDecimal(p));
+            } catch (NumberFormatException ex) {
+                batch.result.setRowsRead(batch.result.getRowsRead() + 1);
+                batch.result.setInvalid(batch.result.getInvalid() + 1);
+                continue;
+            }
+            String c = field(f, code);
+            if (c == null && req.getSeatNumber() != null) {
+                c = Objects.toString(req.getSection(), "") + Objects.toString(req.getRowLabel(), "") + "-" + req.getSeatNumber();
+            }
+            req.setSeatCode(c);
+            batch.add(req);
+        }
+    }
+
+    private static String field(List<String> fields, Integer idx) {
+        if (idx == null || idx >= fields.size()) return null;
+        String v = fields.get(idx).trim();
+        return v.isEmpty() ? null : v;
+    }
+
+    // comma-separated with optional double-quoted fields ("" escapes a quote)
+    static List<String> splitCsv(String line) {
+        List<String> out = new ArrayList<>();
+        StringBuilder cur = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char ch = line.charAt(i);
+            if (quoted) {
+                if (ch == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    cur.append('"');
+                    i++;
+                } else if (ch == '"') {
+                    quoted = false;
+                } else {
+                    cur.append(ch);
+                }
+            } else if (ch == '"') {
+                quoted = true;
+            } else if (ch == ',') {
+                out.add(cur.toString());
+                cur.setLength(0);
+            } else {
+                cur.append(ch);
+            }
+        }
+        out.add(cur.toString());
+        return out;
+    }
+
+    /** Accumulates new seats of one import and writes them batchSize at a time. */
+    private final class Batch {
+        final String eventId;
+        final Set<String> codes;
+        final List<EventSeat> pending = new ArrayList<>(batchSize);
+        final SeatImportResult result = new SeatImportResult();
+        final long startedAt = System.currentTimeMillis();
+        int nextNumber;
+
+        Batch(String eventId) {
+            this.eventId = eventId;
+            this.codes = new HashSet<>(seatRepo.findSeatCodesByEventId(eventId));
+            Integer max = seatRepo.findMaxSeatNumber(eventId);
+            this.nextNumber = (max == null ? 0 : max) + 1;
+            result.setEventId(eventId);
+        }
+
+        void add(SeatCreateRequest req) {
+            result.setRowsRead(result.getRowsRead() + 1);
+            if (req.getSeatCode() == null || req.getSeatCode().isBlank()) {
+                result.setInvalid(result.getInvalid() + 1);
+                return;
+            }
+            if (!codes.add(req.getSeatCode())) {
+                result.setDuplicates(result.getDuplicates() + 1);
+                return;
+            }
+            EventSeat seat = new EventSeat();
+            seat.setId(Uuids.newId());
+            seat.setEventId(eventId);
+            seat.setSeatCode(req.getSeatCode());
+            seat.setSection(req.getSection());
+            seat.setRowLabel(req.getRowLabel());
+            seat.setSeatNumber(Optional.ofNullable(req.getSeatNumber()).orElse(nextNumber++));
+            seat.setPrice(Optional.ofNullable(req.getPrice()).orElse(BigDecimal.valueOf(250)));
+            pending.add(seat);
+            if (pending.size() >= batchSize) flush();
+        }
+
+        void flush() {
+            if (pending.isEmpty()) return;
+            seatRepo.insertAll(pending);
+            result.setInserted(result.getInserted() + pending.size());
+            result.setBatches(result.getBatches() + 1);
+            pending.clear();
+            log.info("Seat import for event {}: {} rows read, {} inserted", eventId, result.getRowsRead(), result.getInserted());
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.event.seating.service;
+
+/**
+ * Published when seats are added to an event, so that per-event caches are rebuilt.
+ */
+public class SeatLayoutChangedEvent {
+
+    private final String eventId;
+
+    public SeatLayoutChangedEvent(String eventId) {
+        this.eventId = eventId;
+    }
+
+    public String getEventId() { return eventId; }
+}
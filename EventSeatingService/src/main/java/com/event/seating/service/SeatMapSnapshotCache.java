@@ -0,0 +1,200 @@
+package com.event.seating.service;
+
+import com.event.seating.dto.SeatStatusDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serialized seat map per event, cached against a per-event version.
+ * - The version is bumped after every committed hold transition or seat layout change.
+ * - A snapshot is reused while its version is current, no hold in it has expired and it is younger than
+ *   max-age (bounds staleness from writes made by other instances); otherwise it is rebuilt once, under a per-event lock.
+ * - ETags combine a per-process boot id with the version, so two instances never produce a false 304.
+ * - At most max-events events are kept (LRU). Versions come from one process-wide sequence, so an evicted
+ *   event that comes back never repeats an ETag it served before.
+ */
+@Component
+public class SeatMapSnapshotCache {
+
+    private static final String BOOT_ID = UUID.randomUUID().toString().substring(0, 8);
+
+    private final SeatingService seatingService;
+    private final CatalogCache catalog;
+    private final ObjectMapper objectMapper;
+    private final SeatingMetrics metrics;
+    private final long maxAgeMs;
+    private final Map<String, Entry> entries;
+    private final ReentrantLock entriesLock = new ReentrantLock();
+    private final AtomicLong versions = new AtomicLong();
+
+    public SeatMapSnapshotCache(SeatingService seatingService, CatalogCache catalog, ObjectMapper objectMapper,
+                                SeatingMetrics metrics,
+                                @Value("${seating.seatmap.snapshot-max-age-ms:5000}") long maxAgeMs,
+                                @Value("${seating.seatmap.max-events:1000}") int maxEvents) {
+        this.seatingService = seatingService;
+        this.catalog = catalog;
+        this.objectMapper = objectMapper;
+        this.metrics = metrics;
+        this.maxAgeMs = maxAgeMs;
+        this.entries = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEvents;
+            }
+        };
+    }
+
+    /**
+     * The current snapshot of an event's seat map, rebuilt if stale.
+     * @throws EventNotFoundException if the catalog has no such event
+     */
+    public Snapshot get(String eventId) {
+        long start = System.nanoTime();
+        Entry e = entry(eventId);
+        Snapshot s = e.snapshot;
+        if (isFresh(e, s)) {
+            metrics.recordSeatMap(start, true);
+            return s;
+        }
+
+        e.lock.lock();
+        try {
+            s = e.snapshot;
+            if (isFresh(e, s)) {
+                metrics.recordSeatMap(start, true);
+                return s;
+            }
+            long v = e.version.get();
+            List<SeatStatusDto> seats = seatingService.getSeatStatusForEvent(eventId);
+            byte[] body = serialize(seats);
+            if (s != null && s.version == v && !Arrays.equals(s.body, body)) {
+                // same version but different content: an expiry or another instance's write we were not told about
+                v = bump(e);
+            }
+            Snapshot built = new Snapshot(v, body, System.currentTimeMillis(), earliestHoldExpiry(seats));
+            // a transition that committed while we were building bumps the version; the next caller rebuilds
+            e.snapshot = built;
+            metrics.recordSeatMap(start, false);
+            return built;
+        } finally {
+            e.lock.unlock();
+        }
+    }
+
+    /** Current version of an event's seat map; 0 while it has no entry (never read, or evicted). */
+    public long version(String eventId) {
+        Entry e = locked(() -> entries.get(eventId));
+        return e == null ? 0 : e.version.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(10)
+    public void onSeatStatusChanged(SeatStatusChangedEvent event) {
+        bump(event.getEventId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(10)
+    public void onSeatLayoutChanged(SeatLayoutChangedEvent event) {
+        bump(event.getEventId());
+    }
+
+    // an event without an entry has no snapshot to invalidate: its first get builds one at a new version
+    private void bump(String eventId) {
+        if (eventId == null) return;
+        Entry e = locked(() -> entries.get(eventId));
+        if (e != null) bump(e);
+    }
+
+    private long bump(Entry e) {
+        long next = versions.incrementAndGet();
+        return e.version.accumulateAndGet(next, Math::max);
+    }
+
+    // unknown ids are refused before they get an entry, so requests for made-up events cannot grow the map
+    private Entry entry(String eventId) {
+        Entry e = locked(() -> entries.get(eventId));
+        if (e != null) return e;
+        if (catalog.event(eventId).isEmpty()) throw new EventNotFoundException(eventId);
+        return locked(() -> entries.computeIfAbsent(eventId, k -> new Entry(versions.incrementAndGet())));
+    }
+
+    private <T> T locked(Supplier<T> body) {
+        entriesLock.lock();
+        try {
+            return body.get();
+        } finally {
+            entriesLock.unlock();
+        }
+    }
+
+    private boolean isFresh(Entry e, Snapshot s) {
+        if (s == null || s.version != e.version.get()) return false;
+        long now = System.currentTimeMillis();
+        return now < s.validUntil && now - s.builtAt < maxAgeMs;
+    }
+
+    private byte[] serialize(List<SeatStatusDto> seats) {
+        try {
+            return objectMapper.writeValueAsBytes(seats);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize seat map", ex);
+        }
+    }
+
+    // a HOLD shown in the snapshot turns AVAILABLE at its expiry, so the snapshot is only valid until then
+    private static long earliestHoldExpiry(List<SeatStatusDto> seats) {
+        long min = Long.MAX_VALUE;
+        for (SeatStatusDto d : seats) {
+            if ("HOLD".equals(d.getStatus()) && d.getHoldExpiry() != null) {
+                min = Math.min(min, OffsetDateTime.parse(d.getHoldExpiry()).toInstant().toEpochMilli());
+            }
+        }
+        return min;
+    }
+
+    private static final class Entry {
+        final AtomicLong version;
+        final ReentrantLock lock = new ReentrantLock();
+        volatile Snapshot snapshot;
+
+        Entry(long version) {
+            this.version = new AtomicLong(version);
+        }
+    }
+
+    public static final class Snapshot {
+        private final long version;
+        private final byte[] body;
+        private final long builtAt;
+        private final long validUntil;
+
+        Snapshot(long version, byte[] body, long builtAt, long validUntil) {
+            this.version = version;
+            this.body = body;
+            this.builtAt = builtAt;
+            this.validUntil = validUntil;
+        }
+
+        public long getVersion() { return version; }
+
+        /** Serialized JSON array of SeatStatusDto. */
+        public byte[] getBody() { return body; }
+
+        public String getEtag() { return "\"" + BOOT_ID + "-" + version + "\""; }
+    }
+}
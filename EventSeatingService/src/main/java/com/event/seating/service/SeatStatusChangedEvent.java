@@ -0,0 +1,30 @@
+package com.event.seating.service;
+
+import com.event.seating.model.HoldSeat;
+import com.event.seating.model.SeatHoldStatus;
+
+import java.util.List;
+
+/**
+ * Published inside the transaction that moves the seats of one hold token to a new status.
+ * RELEASED means the seats are available again. Listeners that touch in-memory state use
+ * {@code @TransactionalEventListener} so they only see committed transitions.
+ */
+public class SeatStatusChangedEvent {
+
+    private final String eventId;
+    private final SeatHoldStatus status;
+    private final List<? extends HoldSeat> seats;
+
+    public SeatStatusChangedEvent(String eventId, SeatHoldStatus status, List<? extends HoldSeat> seats) {
+        this.eventId = eventId;
+        this.status = status;
+        this.seats = seats;
+    }
+
+    public String getEventId() { return eventId; }
+
+    public SeatHoldStatus getStatus() { return status; }
+
+    public List<? extends HoldSeat> getSeats() { return seats; }
+}
@@ -0,0 +1,223 @@
+package com.event.seating.service;
+
+import com.event.seating.dto.SeatDelta;
+import com.event.seating.model.HoldSeat;
+import com.event.seating.model.SeatHoldStatus;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Server-Sent Events of seat status per event.
+ * - A subscriber first gets a "snapshot" event (the cached seat map), then "delta" events with batches of SeatDelta.
+ * - Deltas are queued per subscriber in a bounded buffer and flushed every flush-interval-ms from a small pool,
+ *   so a slow client never blocks the transaction that produced the change.
+ * - A subscriber whose buffer overflows is dropped; the client reconnects and starts again from a snapshot.
+ *   Its emitter is completed by its sender, never by the committing thread, which may not wait on a client.
+ * - An event's subscriber set is removed from the map with its last subscriber.
+ */
+@Component
+public class SeatStatusStreams {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatStatusStreams.class);
+
+    private final SeatMapSnapshotCache seatMapCache;
+    private final SeatAvailabilityIndex availability;
+    private final int bufferSize;
+    private final long timeoutMs;
+    private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher;
+    private final Executor senders;
+
+    public SeatStatusStreams(SeatMapSnapshotCache seatMapCache, SeatAvailabilityIndex availability, Environment env,
+                             @Value("${seating.stream.buffer-size:1024}") int bufferSize,
+                             @Value("${seating.stream.timeout-ms:1800000}") long timeoutMs,
+                             @Value("${seating.stream.flush-interval-ms:200}") long flushIntervalMs,
+                             @Value("${seating.stream.sender-threads:4}") int senderThreads) {
+        this.seatMapCache = seatMapCache;
+        this.availability = availability;
+        this.bufferSize = bufferSize;
+        this.timeoutMs = timeoutMs;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> daemon(r, "seat-stream-flush"));
+        // with virtual threads a send blocked on a slow client costs no platform thread
+        this.senders = Threading.VIRTUAL.isActive(env)
+                ? new VirtualThreadTaskExecutor("seat-stream-send-")
+                : Executors.newFixedThreadPool(senderThreads, r -> daemon(r, "seat-stream-send"));
+        flusher.scheduleWithFixedDelay(this::flushAll, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public SseEmitter subscribe(String eventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber sub = new Subscriber(eventId, emitter, bufferSize);
+        // register before taking the snapshot so no transition falls between the two; inside compute so that
+        // a concurrent remove of the last subscriber cannot drop the set between the lookup and the add
+        subscribers.compute(eventId, (k, subs) -> {
+            Set<Subscriber> s = subs != null ? subs : ConcurrentHashMap.newKeySet();
+            s.add(sub);
+            return s;
+        });
+        emitter.onCompletion(() -> remove(sub));
+        emitter.onTimeout(() -> remove(sub));
+        emitter.onError(ex -> remove(sub));
+
+        SeatMapSnapshotCache.Snapshot snap;
+        try {
+            snap = seatMapCache.get(eventId);
+        } catch (RuntimeException ex) {
+            remove(sub);
+            throw ex;
+        }
+        try {
+            emitter.send(SseEmitter.event()
+                    .name("snapshot")
+                    .id(Long.toString(snap.getVersion()))
+                    .data(new String(snap.getBody(), StandardCharsets.UTF_8), MediaType.APPLICATION_JSON));
+        } catch (IOException ex) {
+            remove(sub);
+            emitter.completeWithError(ex);
+        }
+        return emitter;
+    }
+
+    public int subscriberCount(String eventId) {
+        Set<Subscriber> subs = subscribers.get(eventId);
+        return subs == null ? 0 : subs.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(20)
+    public void onSeatStatusChanged(SeatStatusChangedEvent e) {
+        Set<Subscriber> subs = subscribers.get(e.getEventId());
+        if (subs == null || subs.isEmpty()) return;
+
+        List<SeatDelta> deltas = new ArrayList<>(e.getSeats().size());
+        SeatAvailabilityIndex.EventSeats index = e.getStatus() == SeatHoldStatus.RELEASED
+                ? availability.seats(e.getEventId()) : null;
+        for (HoldSeat h : e.getSeats()) {
+            deltas.add(index != null ? current(index, h) : toDelta(e.getStatus(), h));
+        }
+        for (Subscriber sub : subs) {
+            for (SeatDelta d : deltas) {
+                if (!sub.buffer.offer(d)) {
+                    log.info("Dropping slow seat-stream subscriber for event {}", sub.eventId);
+                    drop(sub);
+                    break;
+                }
+            }
+        }
+    }
+
+    // runs on the committing thread: only marks the subscriber, its sender completes the emitter
+    private void drop(Subscriber sub) {
+        sub.dropped = true;
+        remove(sub);
+        sub.buffer.clear();
+        schedule(sub);
+    }
+
+    private static SeatDelta toDelta(SeatHoldStatus status, HoldSeat h) {
+        return switch (status) {
+            case HOLD -> new SeatDelta(h.getEventSeatId(), "HOLD", h.getHoldExpiry().toString());
+            case ALLOCATED -> new SeatDelta(h.getEventSeatId(), "ALLOCATED", null);
+            case RELEASED -> new SeatDelta(h.getEventSeatId(), "AVAILABLE", null);
+        };
+    }
+
+    // a release only frees the seat if the index still had that hold on it (the index listener runs first),
+    // so a late release of an expired hold reports the newer hold instead of AVAILABLE
+    private static SeatDelta current(SeatAvailabilityIndex.EventSeats index, HoldSeat h) {
+        long v = index.expiryOf(h.getEventSeatId());
+        if (v == SeatAvailabilityIndex.ALLOCATED) return new SeatDelta(h.getEventSeatId(), "ALLOCATED", null);
+        if (v > System.currentTimeMillis()) {
+            return new SeatDelta(h.getEventSeatId(), "HOLD", Instant.ofEpochMilli(v).atOffset(ZoneOffset.UTC).toString());
+        }
+        return new SeatDelta(h.getEventSeatId(), "AVAILABLE", null);
+    }
+
+    private void flushAll() {
+        for (Set<Subscriber> subs : subscribers.values()) {
+            for (Subscriber sub : subs) {
+                if (!sub.buffer.isEmpty()) schedule(sub);
+            }
+        }
+    }
+
+    // at most one send in flight per subscriber; a stuck client only ties up its own send
+    private void schedule(Subscriber sub) {
+        if (sub.sending.compareAndSet(false, true)) {
+            senders.execute(() -> flush(sub));
+        }
+    }
+
+    private void flush(Subscriber sub) {
+        try {
+            List<SeatDelta> batch = new ArrayList<>();
+            sub.buffer.drainTo(batch);
+            if (!batch.isEmpty() && !sub.dropped) {
+                sub.emitter.send(SseEmitter.event().name("delta").data(batch, MediaType.APPLICATION_JSON));
+            }
+        } catch (IOException | IllegalStateException ex) {
+            remove(sub);
+        } finally {
+            sub.sending.set(false);
+        }
+        // also covers a drop that came while this send was in flight; completed once
+        if (sub.dropped && sub.completed.compareAndSet(false, true)) {
+            sub.emitter.complete();
+        }
+    }
+
+    private void remove(Subscriber sub) {
+        subscribers.computeIfPresent(sub.eventId, (k, subs) -> {
+            subs.remove(sub);
+            return subs.isEmpty() ? null : subs;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdownNow();
+        if (senders instanceof ExecutorService pool) pool.shutdownNow();
+    }
+
+    private static Thread daemon(Runnable r, String name) {
+        Thread t = new Thread(r, name);
+        t.setDaemon(true);
+        return t;
+    }
+
+    private static final class Subscriber {
+        final String eventId;
+        final SseEmitter emitter;
+        final BlockingQueue<SeatDelta> buffer;
+        final AtomicBoolean sending = new AtomicBoolean();
+        final AtomicBoolean completed = new AtomicBoolean();
+        volatile boolean dropped;
+
+        Subscriber(String eventId, SseEmitter emitter, int bufferSize) {
+            this.eventId = eventId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+}
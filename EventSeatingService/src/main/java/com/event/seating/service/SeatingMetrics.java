@@ -0,0 +1,153 @@
+package com.event.seating.service;
+
+import com.event.seating.scheduler.HoldExpiryQueue;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer meters of the hold lifecycle, exported on /actuator/prometheus.
+ * - seating.commands: reserve/allocate/release latency (percentile histogram), tagged by outcome and exception.
+ * - seating.seatmap: seat-map reads, tagged by whether the snapshot was cached or rebuilt.
+ * - Counters for seat conflicts, idempotent replays, holds released before allocation, expired and archived holds.
+ * - Gauges for seats on hold per loaded event and for how far the expiry queue is behind.
+ */
+@Component
+public class SeatingMetrics {
+
+    private final MeterRegistry registry;
+    private final SeatAvailabilityIndex availability;
+    private final Counter conflicts;
+    private final Counter releasedBeforeAllocate;
+    private final Counter expiredHolds;
+    private final Counter archivedHolds;
+    private final Timer expiryDelay;
+    private final MultiGauge activeHolds;
+    // moving average of successful reserve latency, read by the waiting room to pace admissions
+    private final AtomicLong reserveLatencyNanos = new AtomicLong();
+
+    public SeatingMetrics(MeterRegistry registry, SeatAvailabilityIndex availability, HoldExpiryQueue expiryQueue) {
+        this.registry = registry;
+        this.availability = availability;
+        this.conflicts = Counter.builder("seating.reserve.conflicts")
+                .description("Reserves rejected because a seat was already held or allocated")
+                .register(registry);
+        this.releasedBeforeAllocate = Counter.builder("seating.holds.released")
+                .description("Holds released by the client before allocation")
+                .register(registry);
+        this.expiredHolds = Counter.builder("seating.holds.expired")
+                .description("Holds released because they expired")
+                .register(registry);
+        this.archivedHolds = Counter.builder("seating.holds.archived")
+                .description("Terminal holds moved to seat_hold_history")
+                .register(registry);
+        this.expiryDelay = Timer.builder("seating.holds.expiry.delay")
+                .description("Time from a hold's expiry until it was released")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.activeHolds = MultiGauge.builder("seating.holds.active")
+                .description("Seats currently on hold, per event loaded in the availability index")
+                .register(registry);
+        Gauge.builder("seating.holds.expiry.lag", expiryQueue, q -> q.overdueMillis())
+                .description("How far the oldest due hold in the expiry queue is past its expiry")
+                .baseUnit("milliseconds")
+                .register(registry);
+        Gauge.builder("seating.holds.expiry.queue", expiryQueue, HoldExpiryQueue::size)
+                .description("Hold tokens waiting in the expiry queue")
+                .register(registry);
+    }
+
+    /** Times a hold command (reserve/allocate/release), tagging the outcome. */
+    public <T> T time(String command, Supplier<T> body) {
+        Timer.Sample sample = Timer.start(registry);
+        String exception = "none";
+        try {
+            return body.get();
+        } catch (RuntimeException ex) {
+            exception = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            long nanos = sample.stop(Timer.builder("seating.commands")
+                    .description("Hold command latency, including the wait for the event's sequencer lock")
+                    .tags("command", command, "outcome", "none".equals(exception) ? "success" : "failure",
+                            "exception", exception)
+                    .publishPercentileHistogram()
+                    .register(registry));
+            if ("reserve".equals(command) && "none".equals(exception)) {
+                reserveLatencyNanos.updateAndGet(avg -> avg == 0 ? nanos : avg + (nanos - avg) / 5);
+            }
+        }
+    }
+
+    /** Recent reserve latency (exponentially weighted, most recent ~5 calls dominate); 0 before the first reserve. */
+    public long reserveLatencyMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(reserveLatencyNanos.get());
+    }
+
+    public void time(String command, Runnable body) {
+        time(command, () -> {
+            body.run();
+            return null;
+        });
+    }
+
+    public void recordSeatMap(long startNanos, boolean cached) {
+        Timer.builder("seating.seatmap")
+                .description("Seat-map reads")
+                .tag("snapshot", cached ? "cached" : "rebuilt")
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(Duration.ofNanos(System.nanoTime() - startNanos));
+    }
+
+    public void conflict() { conflicts.increment(); }
+
+    /** A hold command (reserve/allocate/release) answered with the stored response of its idempotency key. */
+    public void idempotentReplay(String command) {
+        Counter.builder("seating.idempotent.replays")
+                .description("Hold commands answered with the stored response of the same idempotency key")
+                .tag("command", command)
+                .register(registry)
+                .increment();
+    }
+
+    public void releasedBeforeAllocate() { releasedBeforeAllocate.increment(); }
+
+    public void expired(int holds) { expiredHolds.increment(holds); }
+
+    public void archived(int holds) { archivedHolds.increment(holds); }
+
+    public void rateLimited(String reason) {
+        Counter.builder("seating.reserve.rate.limited")
+                .description("Reserves rejected with 429 by a rate limit or the per-user cap on held seats")
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+    }
+
+    public void expiryDelay(long millis) { expiryDelay.record(Duration.ofMillis(Math.max(0, millis))); }
+
+    @Scheduled(fixedDelayString = "${seating.metrics.gauge-refresh-ms:10000}")
+    public void refreshActiveHolds() {
+        long now = System.currentTimeMillis();
+        List<MultiGauge.Row<?>> rows = new ArrayList<>();
+        // only catalog events, at most seating.availability.max-events; evicted events drop out of the series
+        for (Map.Entry<String, SeatAvailabilityIndex.EventSeats> e : availability.loaded().entrySet()) {
+            rows.add(MultiGauge.Row.of(Tags.of("event", e.getKey()), e.getValue().heldCount(now)));
+        }
+        activeHolds.register(rows, true);
+    }
+}
@@ -1,20 +1,42 @@
 package com.event.seating.service;
 
 import com.event.seating.dto.AllocateRequest;
+import com.event.seating.dto.AvailabilityCountsDto;
+import com.event.seating.dto.AvailabilitySummaryDto;
+import com.event.seating.dto.CursorPage;
+import com.event.seating.dto.EventListingDto;
 import com.event.seating.dto.ReserveRequest;
 import com.event.seating.dto.ReserveResponse;
 import com.event.seating.dto.SeatCreateRequest;
+import com.event.seating.dto.SeatLayoutDto;
 import com.event.seating.dto.SeatStatusDto;
+import com.event.seating.dto.SeatStatusVectorDto;
 import com.event.seating.model.EventSeat;
 import com.event.seating.model.Events;
+import com.event.seating.model.Hold;
+import com.event.seating.model.HoldEventType;
+import com.event.seating.model.SeatHoldHistory;
 import com.event.seating.model.SeatHold;
 import com.event.seating.model.SeatHoldStatus;
+import com.event.seating.model.Uuids;
 import com.event.seating.repository.EventSeatRepository;
+import com.event.seating.repository.EventView;
 import com.event.seating.repository.EventsRepository;
+import com.event.seating.repository.HoldRepository;
+import com.event.seating.repository.HoldSeatView;
+import com.event.seating.repository.SeatClaimRepository;
+import com.event.seating.repository.SeatHoldHistoryRepository;
 import com.event.seating.repository.SeatHoldRepository;
+import com.event.seating.repository.SectionCountsView;
+import com.event.seating.repository.SeatStatusView;
+import com.event.seating.scheduler.HoldExpiryQueue;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.env.Environment;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
@@ -25,19 +47,67 @@ import java.util.stream.Collectors;
 @Service
 public class SeatingService {
 
+    private static final String RESERVE = "reserve";
+    private static final String ALLOCATE = "allocate";
+    private static final String RELEASE = "release";
+    // larger ?limit= values are capped to this
+    static final int MAX_PAGE_SIZE = 1000;
+
     private final EventSeatRepository seatRepo;
     private final SeatHoldRepository holdRepo;
+    private final HoldRepository headerRepo;
+    private final SeatHoldHistoryRepository historyRepo;
     private final EventsRepository eventsRepo;
+    private final CatalogCache catalog;
+    private final SeatClaimRepository claimRepo;
+    private final SeatAvailabilityIndex availability;
+    private final EventSequencer sequencer;
+    private final HoldExpiryQueue expiryQueue;
+    private final ApplicationEventPublisher events;
+    private final TransactionTemplate tx;
+    private final SeatingMetrics metrics;
+    private final IdempotencyStore idempotency;
+    private final WaitingRoom waitingRoom;
+    private final ReserveRateLimiter rateLimiter;
+    private final HoldOutbox outbox;
     private final long holdTtlSeconds;
     ZoneId zoneId = ZoneId.of("Asia/Kolkata");
 
     public SeatingService(EventSeatRepository seatRepo,
                           SeatHoldRepository holdRepo,
+                          HoldRepository headerRepo,
+                          SeatHoldHistoryRepository historyRepo,
                           EventsRepository eventsRepo,
+                          CatalogCache catalog,
+                          SeatClaimRepository claimRepo,
+                          SeatAvailabilityIndex availability,
+                          EventSequencer sequencer,
+                          HoldExpiryQueue expiryQueue,
+                          ApplicationEventPublisher events,
+                          TransactionTemplate tx,
+                          SeatingMetrics metrics,
+                          IdempotencyStore idempotency,
+                          WaitingRoom waitingRoom,
+                          ReserveRateLimiter rateLimiter,
+                          HoldOutbox outbox,
                           Environment env) {
         this.seatRepo = seatRepo;
         this.holdRepo = holdRepo;
+        this.headerRepo = headerRepo;
+        this.historyRepo = historyRepo;
         this.eventsRepo = eventsRepo;
+        this.catalog = catalog;
+        this.claimRepo = claimRepo;
+        this.availability = availability;
+        this.sequencer = sequencer;
+        this.expiryQueue = expiryQueue;
+        this.events = events;
+        this.tx = tx;
+        this.metrics = metrics;
+        this.idempotency = idempotency;
+        this.waitingRoom = waitingRoom;
+        this.rateLimiter = rateLimiter;
+        this.outbox = outbox;
         String prop = env.getProperty("seating.hold.ttl-seconds", "90");
         long ttl;
         try {
@@ -49,27 +119,91 @@ public class SeatingService {
     }
 
     /**
-     * Returns all events
+     * One keyset page of events in id order, starting after the given id (from the start when null).
+     * Reads only the listed columns, one row more than the page to tell whether another page follows.
+     * Seat counts come from the availability counters for events loaded in the index, and from one grouped
+     * count query for the rest of the page (which are not loaded just to be listed).
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<EventListingDto> listEvents(String after, int limit) {
+        int n = pageSize(limit);
+        List<EventView> rows = eventsRepo.findPageAfter(after == null ? "" : after, PageRequest.of(0, n + 1));
+        boolean more = rows.size() > n;
+        rows = rows.subList(0, Math.min(rows.size(), n));
+
+        Map<String, SeatAvailabilityIndex.EventSeats> loaded = availability.loaded();
+        List<String> unloaded = rows.stream().map(EventView::getEventId).filter(id -> !loaded.containsKey(id)).toList();
+        Map<String, List<SectionCountsView>> counted = unloaded.isEmpty() ? Map.of()
+                : seatRepo.countBySection(unloaded).stream()
+                        .collect(Collectors.groupingBy(SectionCountsView::getEventId));
+
+        List<EventListingDto> items = new ArrayList<>(rows.size());
+        for (EventView v : rows) {
+            AvailabilityCountsDto c = loaded.containsKey(v.getEventId())
+                    ? eventCounts(loaded.get(v.getEventId()))
+                    : eventCounts(counted.getOrDefault(v.getEventId(), List.of()));
+            EventListingDto e = new EventListingDto();
+            e.setEventId(v.getEventId());
+            e.setEventName(v.getEventName());
+            e.setTotal(c.getTotal());
+            e.setAvailable(c.getAvailable());
+            e.setHeld(c.getHeld());
+            e.setAllocated(c.getAllocated());
+            items.add(e);
+        }
+        return new CursorPage<>(items, more ? items.get(n - 1).getEventId() : null);
+    }
+
+    /**
+     * Available/held/allocated seats of an event, in total and per section, read from the counters the
+     * availability index keeps up to date on every hold transition; no seat rows are read or counted.
      */
-    public List<Events> listEvents()
-    {
-    	return eventsRepo.findAll();
+    public AvailabilitySummaryDto getAvailabilitySummary(String eventId) {
+        SeatAvailabilityIndex.EventSeats m = availability.seats(eventId);
+        List<AvailabilityCountsDto> sections = new ArrayList<>(m.sections().size());
+        for (int s = 0; s < m.sections().size(); s++) {
+            sections.add(new AvailabilityCountsDto(m.sections().get(s), m.sectionTotal(s), m.sectionHeld(s),
+                    m.sectionAllocated(s)));
+        }
+        AvailabilityCountsDto total = eventCounts(m);
+
+        AvailabilitySummaryDto dto = new AvailabilitySummaryDto();
+        dto.setEventId(eventId);
+        dto.setTotal(total.getTotal());
+        dto.setAvailable(total.getAvailable());
+        dto.setHeld(total.getHeld());
+        dto.setAllocated(total.getAllocated());
+        dto.setSections(sections);
+        dto.setAsOf(System.currentTimeMillis());
+        return dto;
+    }
+
+    private static AvailabilityCountsDto eventCounts(SeatAvailabilityIndex.EventSeats m) {
+        long held = 0, allocated = 0;
+        for (int s = 0; s < m.sections().size(); s++) {
+            held += m.sectionHeld(s);
+            allocated += m.sectionAllocated(s);
+        }
+        return new AvailabilityCountsDto(null, m.size(), held, allocated);
+    }
+
+    private static AvailabilityCountsDto eventCounts(List<SectionCountsView> sections) {
+        long total = 0, held = 0, allocated = 0;
+        for (SectionCountsView c : sections) {
+            total += c.getTotal();
+            held += c.getHeld();
+            allocated += c.getAllocated();
+        }
+        return new AvailabilityCountsDto(null, total, held, allocated);
     }
 
     @Transactional
     public List<EventSeat> addSeatsToEvent(String eventId, List<SeatCreateRequest> seats) {
-        Events event = eventsRepo.findById(eventId)
+        Events event = catalog.event(eventId)
                 .orElseThrow(() -> new IllegalArgumentException("Event not found: " + eventId));
 
-        List<EventSeat> existingSeats = seatRepo.findByEventId(eventId);
-        Set<String> existingCodes = existingSeats.stream()
-                .map(EventSeat::getSeatCode)
-                .collect(Collectors.toSet());
-        int nextNumber = existingSeats.stream()
-                .map(EventSeat::getSeatNumber)
-                .filter(Objects::nonNull)
-                .max(Integer::compareTo)
-                .orElse(0) + 1;
+        Set<String> existingCodes = new HashSet<>(seatRepo.findSeatCodesByEventId(eventId));
+        int nextNumber = Optional.ofNullable(seatRepo.findMaxSeatNumber(eventId)).orElse(0) + 1;
 
         List<EventSeat> created = new ArrayList<>();
         for (SeatCreateRequest req : seats) {
@@ -81,7 +215,7 @@ public class SeatingService {
             }
 
             EventSeat seat = new EventSeat();
-            seat.setId(UUID.randomUUID().toString());
+            seat.setId(Uuids.newId());
             seat.setEventId(event.getEventId());
             seat.setSeatCode(req.getSeatCode());
             seat.setSection(req.getSection());
@@ -93,71 +227,186 @@ public class SeatingService {
             existingCodes.add(req.getSeatCode());
         }
 
-        return created.isEmpty() ? Collections.emptyList() : seatRepo.saveAll(created);
+        if (created.isEmpty()) return Collections.emptyList();
+        events.publishEvent(new SeatLayoutChangedEvent(eventId));
+        return seatRepo.saveAll(created);
     }
 
-    @Transactional
+    /**
+     * Reserve, allocate and release run through the per-event sequencer; each command
+     * takes the event's lock first and then runs in its own transaction.
+     * With an idempotency key, a retry gets the stored response of the first call: from memory
+     * before taking the lock, otherwise from the DB inside the command's transaction.
+     * A reserve then passes the per-user/per-event rate limits and, while the event's waiting room is open,
+     * needs an admission token from it; both fail fast, before any repository access. The per-user cap on held
+     * seats is checked once the seats are chosen, under the event's lock.
+     */
     public ReserveResponse reserve(ReserveRequest req) {
-        // Idempotency
-        String idemKey = req.getIdempotencyKey();
-        if (idemKey != null && !idemKey.isBlank()) {
-            Optional<SeatHold> ex = holdRepo.findByIdempotencyKey(idemKey);
-            if (ex.isPresent()) {
-                SeatHold sh = ex.get();
-                ReserveResponse r = new ReserveResponse();
-                r.setHoldToken(sh.getHoldToken());
-                r.setHoldExpiry(sh.getHoldExpiry());
-                r.setReservedSeatCodes(Collections.singletonList(getSeatCodeByEventSeatId(sh.getEventSeatId())));
-                r.setMessage("idempotent: returning existing hold");
-                return r;
+        return metrics.time("reserve", () -> {
+            Optional<ReserveResponse> replay = idempotency.cached(RESERVE, req.getIdempotencyKey(), req, ReserveResponse.class);
+            if (replay.isPresent()) return replayed(replay.get());
+            rateLimiter.acquire(req.getEventId(), req.getUserId());
+            waitingRoom.checkAdmission(req.getEventId(), req.getUserId(), req.getAdmissionToken());
+            return sequencer.execute(req.getEventId(), () -> tx.execute(status -> doReserve(req)));
+        });
+    }
+
+    public void allocate(AllocateRequest req) {
+        metrics.time("allocate", () -> {
+            if (idempotency.cached(ALLOCATE, req.getIdempotencyKey(), req, String.class).isPresent()) {
+                metrics.idempotentReplay(ALLOCATE);
+                return;
             }
+            String eventId = eventIdForHoldToken(req.getHoldToken())
+                    .orElseThrow(() -> new IllegalArgumentException("Hold not found"));
+            sequencer.run(eventId, () -> tx.executeWithoutResult(status -> doAllocate(req, eventId)));
+        });
+    }
+
+    public void release(String holdToken) {
+        release(holdToken, null);
+    }
+
+    public void release(String holdToken, String idempotencyKey) {
+        metrics.time("release", () -> {
+            if (idempotency.cached(RELEASE, idempotencyKey, holdToken, String.class).isPresent()) {
+                metrics.idempotentReplay(RELEASE);
+                return;
+            }
+            eventIdForHoldToken(holdToken).ifPresent(eventId ->
+                    sequencer.run(eventId, () -> tx.executeWithoutResult(status -> doRelease(holdToken, idempotencyKey, eventId))));
+        });
+    }
+
+    private ReserveResponse replayed(ReserveResponse stored) {
+        stored.setMessage("idempotent: returning existing hold");
+        metrics.idempotentReplay(RESERVE);
+        return stored;
+    }
+
+    private ReserveResponse doReserve(ReserveRequest req) {
+        String idemKey = req.getIdempotencyKey();
+        Optional<ReserveResponse> replay = idempotency.find(RESERVE, idemKey, req, ReserveResponse.class);
+        if (replay.isPresent()) {
+            return replayed(replay.get());
         }
 
         List<String> reservedSeatCodes = new ArrayList<>();
-        String holdToken = UUID.randomUUID().toString();
+        String holdToken = Uuids.newId();
         OffsetDateTime now = OffsetDateTime.now(zoneId);
+        OffsetDateTime expiry = now.plusSeconds(holdTtlSeconds);
+        long nowMillis = now.toInstant().toEpochMilli();
 
-        for (String seatCode : req.getSeatCodes()) {
-            EventSeat seat = seatRepo.findByEventIdAndSeatCode(req.getEventId(), seatCode)
-                    .orElseThrow(() -> new IllegalArgumentException("Seat not found: " + seatCode));
+        List<EventSeat> seats = req.getQuantity() != null
+                ? findBestSeats(req, nowMillis)
+                : checkRequestedSeats(req, nowMillis);
 
-            // Check active holds/allocations for this seat
-            boolean alreadyHeld = holdRepo.findAll().stream()
-                    .anyMatch(h -> seat.getId().equals(h.getEventSeatId())
-                            && (h.getStatus() == SeatHoldStatus.HOLD || h.getStatus() == SeatHoldStatus.ALLOCATED)
-                            && (h.getStatus() == SeatHoldStatus.ALLOCATED || h.getHoldExpiry().isAfter(now)));
+        // the user's seat cap, checked and counted under the event's lock; undone if this reserve does not commit
+        rateLimiter.holdStarted(req.getEventId(), req.getUserId(), holdToken, seats.size(), expiry.toInstant().toEpochMilli());
+        TransactionHooks.afterRollback(() -> rateLimiter.holdEnded(holdToken));
 
-            if (alreadyHeld) {
-                throw new IllegalStateException("Seat already held/allocated: " + seatCode);
-            }
+        // Claim every seat in one statement; the unique key on seat_claim arbitrates concurrent reserves
+        List<String> seatIds = seats.stream().map(EventSeat::getId).collect(Collectors.toList());
+        claimRepo.deleteExpired(seatIds, now);
+        try {
+            claimRepo.claimAll(holdToken, seatIds, expiry);
+        } catch (DataIntegrityViolationException ex) {
+            metrics.conflict();
+            throw new IllegalStateException("Seat already held/allocated: one or more of " + reservedSeatCodesOf(seats));
+        }
 
+        List<SeatHold> holds = new ArrayList<>();
+        for (EventSeat seat : seats) {
             SeatHold sh = new SeatHold();
-            sh.setId(UUID.randomUUID().toString());
+            sh.setId(Uuids.newId());
+            sh.setEventId(req.getEventId());
             sh.setEventSeatId(seat.getId());
             sh.setUserId(req.getUserId());
             sh.setHoldToken(holdToken);
-            sh.setStatus(SeatHoldStatus.HOLD);
             sh.setCreatedAt(now);
-            sh.setHoldExpiry(now.plusSeconds(holdTtlSeconds));
+            sh.setHoldExpiry(expiry);
             sh.setIdempotencyKey(idemKey);
-            holdRepo.save(sh);
+            holds.add(sh);
 
-            reservedSeatCodes.add(seatCode);
+            reservedSeatCodes.add(seat.getSeatCode());
         }
+        Hold header = new Hold();
+        header.setHoldToken(holdToken);
+        header.setEventId(req.getEventId());
+        header.setUserId(req.getUserId());
+        header.setStatus(SeatHoldStatus.HOLD);
+        header.setCreatedAt(now);
+        header.setHoldExpiry(expiry);
+        headerRepo.save(header);
+        holdRepo.saveAll(holds);
+        events.publishEvent(new SeatStatusChangedEvent(req.getEventId(), SeatHoldStatus.HOLD, holds));
+        outbox.record(HoldEventType.HELD, holdToken, req.getEventId(), req.getUserId(), null, holds);
+        TransactionHooks.afterCommit(() -> expiryQueue.schedule(holdToken, expiry));
 
         ReserveResponse resp = new ReserveResponse();
         resp.setHoldToken(holdToken);
-        resp.setHoldExpiry(OffsetDateTime.now(zoneId).plusSeconds(holdTtlSeconds));
+        resp.setHoldExpiry(expiry);
         resp.setReservedSeatCodes(reservedSeatCodes);
         resp.setMessage("Seats reserved (hold)");
+        idempotency.save(RESERVE, idemKey, req, resp);
         return resp;
     }
 
-    @Transactional
-    public void allocate(AllocateRequest req) {
-    	// fetch all seat-hold rows for the token
-        List<SeatHold> holds = holdRepo.findByHoldToken(req.getHoldToken());
-        if (holds == null || holds.isEmpty()) {
+    // Check every requested seat against the availability index before writing anything
+    private List<EventSeat> checkRequestedSeats(ReserveRequest req, long nowMillis) {
+        SeatAvailabilityIndex.EventSeats index = availability.seats(req.getEventId());
+        List<EventSeat> seats = new ArrayList<>();
+        for (String seatCode : new LinkedHashSet<>(req.getSeatCodes())) {
+            int ordinal = index.ordinalOf(seatCode);
+            if (ordinal < 0 && catalog.seat(req.getEventId(), seatCode).isPresent()) {
+                // seat was added after the index was built (e.g. by another instance)
+                index = availability.reload(req.getEventId());
+                ordinal = index.ordinalOf(seatCode);
+            }
+            if (ordinal < 0) {
+                throw new IllegalArgumentException("Seat not found: " + seatCode);
+            }
+            if (index.isTaken(ordinal, nowMillis)) {
+                metrics.conflict();
+                throw new IllegalStateException("Seat already held/allocated: " + seatCode);
+            }
+            seats.add(index.seat(ordinal));
+        }
+        return seats;
+    }
+
+    /**
+     * Best-available mode: the most central block of quantity adjacent free seats in the first row that has one,
+     * within the requested section and price band. Runs under the event's lock, so the block found is still
+     * free when it is claimed (barring writes from other instances, which the claim rejects).
+     */
+    private List<EventSeat> findBestSeats(ReserveRequest req, long nowMillis) {
+        SeatAvailabilityIndex.EventSeats index = availability.seats(req.getEventId());
+        int[] block = index.findContiguous(req.getQuantity(), nowMillis, ordinal -> {
+            EventSeat s = index.seat(ordinal);
+            BigDecimal price = s.getPrice();
+            return (req.getSection() == null || req.getSection().equals(s.getSection()))
+                    && (req.getMinPrice() == null || (price != null && price.compareTo(req.getMinPrice()) >= 0))
+                    && (req.getMaxPrice() == null || (price != null && price.compareTo(req.getMaxPrice()) <= 0));
+        });
+        if (block == null) {
+            throw new IllegalStateException("No " + req.getQuantity() + " adjacent seats available");
+        }
+        List<EventSeat> seats = new ArrayList<>(block.length);
+        for (int ordinal : block) {
+            seats.add(index.seat(ordinal));
+        }
+        return seats;
+    }
+
+    private void doAllocate(AllocateRequest req, String eventId) {
+        if (idempotency.find(ALLOCATE, req.getIdempotencyKey(), req, String.class).isPresent()) {
+            metrics.idempotentReplay(ALLOCATE);
+            return;
+        }
+    	// one narrow read of the token's seat rows; no entities are loaded or dirty-checked
+        List<HoldSeatView> holds = holdRepo.findHoldSeatsByHoldToken(req.getHoldToken());
+        if (holds.isEmpty()) {
             throw new IllegalArgumentException("Hold not found");
         }
 
@@ -175,71 +424,112 @@ public class SeatingService {
             throw new IllegalStateException("One or more holds already released");
         }
 
-        // Check expiry — if any hold expired, mark them RELEASED and fail allocation
+        // Check expiry — expired holds are released by the expiry queue, allocation just fails
         OffsetDateTime now = OffsetDateTime.now(zoneId);
         boolean anyExpired = holds.stream()
                 .anyMatch(h -> h.getHoldExpiry().isBefore(now));
         if (anyExpired) {
-            // mark expired holds as RELEASED
-            for (SeatHold h : holds) {
-                if (h.getStatus() == SeatHoldStatus.HOLD && h.getHoldExpiry().isBefore(now)) {
-                    h.setStatus(SeatHoldStatus.RELEASED);
-                    holdRepo.save(h);
-                }
-            }
             throw new IllegalStateException("Hold expired");
         }
 
-        // All good — allocate every hold row
-        for (SeatHold h : holds) {
-            h.setStatus(SeatHoldStatus.ALLOCATED);
-            h.setAllocatedAt(OffsetDateTime.now(zoneId));
-            h.setOrderId(req.getOrderId());
-            holdRepo.save(h);
+        // All good — allocate the hold header; the seat lines carry no state of their own.
+        // The checks above read without a row lock and the expiry scheduler does not take the event's lock,
+        // so the header may have been released since: then nothing was allocated and the whole command fails.
+        if (headerRepo.allocate(req.getHoldToken(), req.getOrderId(), now) == 0) {
+            throw new IllegalStateException("Hold expired");
         }
+        claimRepo.markAllocated(req.getHoldToken());
+        TransactionHooks.afterCommit(() -> rateLimiter.holdEnded(req.getHoldToken()));
+        events.publishEvent(new SeatStatusChangedEvent(eventId, SeatHoldStatus.ALLOCATED, holds));
+        outbox.record(HoldEventType.ALLOCATED, req.getHoldToken(), eventId, holds.get(0).getUserId(), req.getOrderId(), holds);
+        idempotency.save(ALLOCATE, req.getIdempotencyKey(), req, "allocated");
     }
 
-    @Transactional
-    public void release(String holdToken) {
-        List<SeatHold> holds = holdRepo.findAll().stream()
-                .filter(h -> holdToken.equals(h.getHoldToken()))
+    private void doRelease(String holdToken, String idempotencyKey, String eventId) {
+        if (idempotency.find(RELEASE, idempotencyKey, holdToken, String.class).isPresent()) {
+            metrics.idempotentReplay(RELEASE);
+            return;
+        }
+        List<HoldSeatView> holds = holdRepo.findHoldSeatsByHoldToken(holdToken);
+        if (holds.stream().anyMatch(h -> h.getStatus() == SeatHoldStatus.ALLOCATED)) {
+            throw new IllegalStateException("Cannot release allocated hold: " + holdToken);
+        }
+        List<HoldSeatView> open = holds.stream()
+                .filter(h -> h.getStatus() == SeatHoldStatus.HOLD)
                 .collect(Collectors.toList());
-        for (SeatHold sh : holds) {
-            if (sh.getStatus() == SeatHoldStatus.ALLOCATED) {
-                throw new IllegalStateException("Cannot release allocated hold: " + sh.getId());
-            }
-            sh.setStatus(SeatHoldStatus.RELEASED);
-            holdRepo.save(sh);
+        // a header released by the expiry scheduler since the lines were read changes nothing here
+        if (!open.isEmpty() && headerRepo.release(holdToken) > 0) {
+            claimRepo.deleteByHoldTokenIn(Collections.singletonList(holdToken));
+            events.publishEvent(new SeatStatusChangedEvent(eventId, SeatHoldStatus.RELEASED, open));
+            outbox.record(HoldEventType.RELEASED, holdToken, eventId, open.get(0).getUserId(), null, open);
+            TransactionHooks.afterCommit(() -> {
+                metrics.releasedBeforeAllocate();
+                rateLimiter.holdEnded(holdToken);
+            });
         }
+        idempotency.save(RELEASE, idempotencyKey, holdToken, "released");
     }
 
-    public Optional<SeatHold> getHoldDetails(String holdToken) {
-        return holdRepo.findByHoldToken(holdToken).stream().findFirst();
+    /**
+     * The complete hold (status, expiry, user, order and seat codes) from its header row and seat lines,
+     * or rebuilt from seat_hold_history once the hold has been archived.
+     */
+    public Optional<Hold> getHoldDetails(String holdToken) {
+        if (!Uuids.isValid(holdToken)) return Optional.empty();
+        Optional<Hold> live = headerRepo.findById(holdToken);
+        if (live.isPresent()) {
+            live.get().setSeatCodes(holdRepo.findSeatCodesByHoldToken(holdToken));
+            return live;
+        }
+        List<SeatHoldHistory> lines = historyRepo.findByHoldTokenOrderByCreatedAt(holdToken);
+        if (lines.isEmpty()) return Optional.empty();
+
+        SeatHoldHistory first = lines.get(0);
+        Hold h = new Hold();
+        h.setHoldToken(holdToken);
+        h.setEventId(first.getEventId());
+        h.setUserId(first.getUserId());
+        h.setStatus(first.getStatus());
+        h.setHoldExpiry(first.getHoldExpiry());
+        h.setCreatedAt(first.getCreatedAt());
+        h.setAllocatedAt(first.getAllocatedAt());
+        h.setOrderId(first.getOrderId());
+        h.setSeatCodes(lines.stream()
+                .map(l -> l.getSeatCode() != null ? l.getSeatCode() : l.getEventSeatId())
+                .collect(Collectors.toList()));
+        return Optional.of(h);
     }
 
-    // helper to map eventSeatId -> seatCode (naive single lookup)
-    private String getSeatCodeByEventSeatId(String eventSeatId) {
-        return seatRepo.findById(eventSeatId).map(EventSeat::getSeatCode).orElse(eventSeatId);
+    private static List<String> reservedSeatCodesOf(List<EventSeat> seats) {
+        return seats.stream().map(EventSeat::getSeatCode).collect(Collectors.toList());
     }
-    
+
+    private Optional<String> eventIdForHoldToken(String holdToken) {
+        if (!Uuids.isValid(holdToken)) return Optional.empty();
+        return headerRepo.findEventIdByHoldToken(holdToken);
+    }
+
+
     /**
      * Returns seat status for all seats of an event.
+     * - Read-only, so with a read replica configured it is served from the replica (bounded by max-lag-seconds).
      * - If a seat has multiple holds, pick the latest relevant one (prefer ALLOCATED over HOLD).
      * - Treat expired HOLD as AVAILABLE.
      */
     @Transactional(readOnly = true)
     public List<SeatStatusDto> getSeatStatusForEvent(String eventId) {
-        List<EventSeat> seats = seatRepo.findByEventId(eventId);
+        List<EventSeat> seats = catalog.seats(eventId);
         if (seats == null || seats.isEmpty()) return Collections.emptyList();
 
         List<String> seatIds = seats.stream().map(EventSeat::getId).collect(Collectors.toList());
-        List<SeatHold> holds = holdRepo.findByEventSeatIdIn(seatIds);
+        List<HoldSeatView> holds = new ArrayList<>(holdRepo.findByEventSeatIdIn(seatIds));
+        holds.addAll(historyRepo.findAllocatedForEvent(eventId));
 
-        // Map eventSeatId -> relevant SeatHold
-        Map<String, SeatHold> chosen = new HashMap<>();
-        for (SeatHold h : holds) {
+        // Map eventSeatId -> relevant hold
+        Map<String, HoldSeatView> chosen = new HashMap<>();
+        for (HoldSeatView h : holds) {
             String sid = h.getEventSeatId();
-            SeatHold prev = chosen.get(sid);
+            HoldSeatView prev = chosen.get(sid);
             if (prev == null) {
                 chosen.put(sid, h);
             } else {
@@ -263,7 +553,7 @@ public class SeatingService {
             dto.setSection(s.getSection());
             dto.setRowLabel(s.getRowLabel());
 
-            SeatHold sh = chosen.get(s.getId());
+            HoldSeatView sh = chosen.get(s.getId());
             if (sh == null) {
                 dto.setStatus("AVAILABLE");
             } else {
@@ -283,13 +573,99 @@ public class SeatingService {
     }
 
 
+    /**
+     * One keyset page of an event's seat map in seat-code order, starting after the given code, optionally
+     * only one section and/or one status (AVAILABLE, HOLD or ALLOCATED). One projection query per page:
+     * no entities are loaded, so the cost follows the page size, not the event size.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<SeatStatusDto> getSeatStatusPage(String eventId, String after, int limit, String section, String status) {
+        int n = pageSize(limit);
+        String statusFilter = status == null || status.isBlank() ? null : status.toUpperCase(Locale.ROOT);
+        if (statusFilter != null && !List.of("AVAILABLE", "HOLD", "ALLOCATED").contains(statusFilter)) {
+            throw new IllegalArgumentException("status must be AVAILABLE, HOLD or ALLOCATED");
+        }
+        List<SeatStatusView> rows = seatRepo.findStatusPage(eventId, after == null ? "" : after,
+                section == null || section.isBlank() ? null : section, statusFilter, OffsetDateTime.now(),
+                PageRequest.of(0, n + 1));
+        List<SeatStatusDto> items = new ArrayList<>(Math.min(rows.size(), n));
+        for (SeatStatusView v : rows.subList(0, Math.min(rows.size(), n))) {
+            SeatStatusDto dto = new SeatStatusDto();
+            dto.setEventSeatId(v.getEventSeatId());
+            dto.setSeatCode(v.getSeatCode());
+            dto.setSeatNumber(v.getSeatNumber());
+            dto.setSection(v.getSection());
+            dto.setRowLabel(v.getRowLabel());
+            dto.setStatus(v.getStatus());
+            if (!"AVAILABLE".equals(v.getStatus())) {
+                dto.setHoldToken(v.getHoldToken());
+                dto.setUserId(v.getUserId());
+                dto.setHoldExpiry(v.getHoldExpiry() != null ? v.getHoldExpiry().toString() : null);
+            }
+            items.add(dto);
+        }
+        return new CursorPage<>(items, rows.size() > n ? items.get(n - 1).getSeatCode() : null);
+    }
+
+    private static int pageSize(int limit) {
+        if (limit < 1) throw new IllegalArgumentException("limit must be at least 1");
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Immutable seat list of an event, ordered by ordinal, from the availability index.
+     * @throws EventNotFoundException for an unknown event
+     */
+    public SeatLayoutDto getSeatLayout(String eventId) {
+        SeatAvailabilityIndex.EventSeats m = availability.seats(eventId);
+        List<SeatLayoutDto.Seat> seats = new ArrayList<>(m.size());
+        for (int i = 0; i < m.size(); i++) {
+            EventSeat s = m.seat(i);
+            SeatLayoutDto.Seat dto = new SeatLayoutDto.Seat();
+            dto.setOrdinal(i);
+            dto.setEventSeatId(s.getId());
+            dto.setSeatCode(s.getSeatCode());
+            dto.setSection(s.getSection());
+            dto.setRowLabel(s.getRowLabel());
+            dto.setSeatNumber(s.getSeatNumber());
+            seats.add(dto);
+        }
+        SeatLayoutDto layout = new SeatLayoutDto();
+        layout.setEventId(eventId);
+        layout.setLayoutVersion(m.layoutVersion());
+        layout.setSeats(seats);
+        return layout;
+    }
+
+    /**
+     * Current status of every seat as a 2-bit vector indexed by layout ordinal, plus the expiries of held seats.
+     * @throws EventNotFoundException for an unknown event
+     */
+    public SeatStatusVectorDto getSeatStatusVector(String eventId) {
+        SeatAvailabilityIndex.EventSeats m = availability.seats(eventId);
+        long now = System.currentTimeMillis();
+        List<SeatStatusVectorDto.HeldSeat> holds = new ArrayList<>();
+        byte[] bits = m.packStatus(now, (ordinal, expiresAt) -> holds.add(new SeatStatusVectorDto.HeldSeat(ordinal, expiresAt)));
+
+        SeatStatusVectorDto dto = new SeatStatusVectorDto();
+        dto.setLayoutVersion(m.layoutVersion());
+        dto.setSeatCount(m.size());
+        dto.setStatusBits(Base64.getEncoder().encodeToString(bits));
+        dto.setHolds(holds);
+        dto.setAsOf(now);
+        return dto;
+    }
+
 	public Events addEvent(Events event) {
 		// TODO Auto-generated method stub
-		return eventsRepo.save(event);
+		Events saved = eventsRepo.save(event);
+		catalog.invalidateEvent(saved.getEventId());
+		return saved;
 	}
 	
 	public EventSeat getEventDetails(String eventId)
 	{
+		if (!Uuids.isValid(eventId)) return null;
 		return seatRepo.findById(eventId).orElse(null);
 	}
 }
@@ -0,0 +1,285 @@
+package com.event.seating.service;
+
+import com.event.seating.dto.QueueTicketDto;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayDeque;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-event waiting room in front of reserve, for on-sales that would otherwise flood the DB.
+ * - While a room is open, clients join to get a ticket and poll it; reserve needs an admission token.
+ * - Every tick admits the next tickets in join order. The number admitted is the configured rate, scaled
+ *   down when recent reserve latency exceeds the target, and capped so that admissions still live stay
+ *   within the event's free seats (times oversubscription). Nobody is admitted to a sold-out event.
+ * - Admission tokens are HMAC-signed (event, user, expiry) and checked without any lookup; instances that
+ *   share seating.waiting-room.secret accept each other's tokens. Queues themselves are per instance.
+ * - Off unless seating.waiting-room.enabled; enabled without a secret, the service refuses to start, since
+ *   per-instance random secrets would make each instance reject the others' tokens.
+ * - Tickets not polled within ticket-ttl are dropped; unadmitted ones stop counting as waiting.
+ */
+@Component
+public class WaitingRoom {
+
+    private static final Logger log = LoggerFactory.getLogger(WaitingRoom.class);
+
+    private final SeatAvailabilityIndex availability;
+    private final SeatingMetrics metrics;
+    private final boolean enabled;
+    private final SecretKeySpec key;
+    private final double admitPerSecond;
+    private final long tickMs;
+    private final double oversubscription;
+    private final long admissionTtlMs;
+    private final long ticketTtlMs;
+    private final long targetLatencyMs;
+    private final ConcurrentHashMap<String, Room> rooms = new ConcurrentHashMap<>();
+
+    public WaitingRoom(SeatAvailabilityIndex availability, SeatingMetrics metrics, MeterRegistry registry,
+                       @Value("${seating.waiting-room.enabled:false}") boolean enabled,
+                       @Value("${seating.waiting-room.events:}") List<String> events,
+                       @Value("${seating.waiting-room.secret:}") String secret,
+                       @Value("${seating.waiting-room.admit-per-second:50}") double admitPerSecond,
+                       @Value("${seating.waiting-room.tick-ms:1000}") long tickMs,
+                       @Value("${seating.waiting-room.oversubscription:1.5}") double oversubscription,
+                       @Value("${seating.waiting-room.admission-ttl-seconds:300}") long admissionTtlSeconds,
+                       @Value("${seating.waiting-room.ticket-ttl-seconds:7200}") long ticketTtlSeconds,
+                       @Value("${seating.waiting-room.target-latency-ms:250}") long targetLatencyMs) {
+        this.availability = availability;
+        this.metrics = metrics;
+        this.enabled = enabled;
+        if (enabled && secret.isBlank()) {
+            throw new IllegalStateException("seating.waiting-room.secret (WAITING_ROOM_SECRET) is required when"
+                    + " seating.waiting-room.enabled is set; every instance must use the same value");
+        }
+        // never used while disabled: no room can be opened, so no token is issued or checked
+        this.key = enabled ? new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256") : null;
+        this.admitPerSecond = admitPerSecond;
+        this.tickMs = tickMs;
+        this.oversubscription = oversubscription;
+        this.admissionTtlMs = admissionTtlSeconds * 1000;
+        this.ticketTtlMs = ticketTtlSeconds * 1000;
+        this.targetLatencyMs = targetLatencyMs;
+        events.stream().filter(e -> !e.isBlank()).forEach(this::open);
+        Gauge.builder("seating.waitingroom.waiting", rooms, r -> r.values().stream().mapToLong(Room::waiting).sum())
+                .description("Tickets not yet admitted, over all open waiting rooms")
+                .register(registry);
+    }
+
+    public void open(String eventId) {
+        if (!enabled) {
+            throw new IllegalStateException("Waiting room is disabled: set seating.waiting-room.enabled and"
+                    + " seating.waiting-room.secret");
+        }
+        rooms.computeIfAbsent(eventId, Room::new);
+        log.info("Waiting room opened for event {}", eventId);
+    }
+
+    public void close(String eventId) {
+        if (rooms.remove(eventId) != null) log.info("Waiting room closed for event {}", eventId);
+    }
+
+    public boolean isOpen(String eventId) {
+        return rooms.containsKey(eventId);
+    }
+
+    /** Joins the event's queue; without an open room the ticket is admitted straight away. */
+    public QueueTicketDto join(String eventId, String userId) {
+        if (userId == null || userId.isBlank()) throw new IllegalArgumentException("userId is required");
+        Room room = rooms.get(eventId);
+        Ticket t = new Ticket(UUID.randomUUID().toString(), userId,
+                room == null ? 0 : room.issued.incrementAndGet(), System.currentTimeMillis());
+        if (room != null) room.tickets.put(t.id, t);
+        return describe(eventId, room, t);
+    }
+
+    public QueueTicketDto status(String eventId, String ticketId) {
+        Room room = rooms.get(eventId);
+        Ticket t = room == null ? null : room.tickets.get(ticketId);
+        if (t == null) throw new IllegalArgumentException("Ticket not found: " + ticketId);
+        return describe(eventId, room, t);
+    }
+
+    /**
+     * Rejects a reserve on an event with an open room unless it carries a live admission token for that user.
+     * @throws AdmissionDeniedException for a missing, invalid, foreign or expired token
+     */
+    public void checkAdmission(String eventId, String userId, String admissionToken) {
+        if (!isOpen(eventId)) return;
+        if (admissionToken == null || admissionToken.isBlank()) {
+            throw new AdmissionDeniedException("Admission token required: join the waiting room for event " + eventId, false);
+        }
+        int dot = admissionToken.indexOf('.');
+        if (dot < 0) throw new AdmissionDeniedException("Invalid admission token", false);
+        byte[] payload;
+        byte[] signature;
+        try {
+            payload = Base64.getUrlDecoder().decode(admissionToken.substring(0, dot));
+            signature = Base64.getUrlDecoder().decode(admissionToken.substring(dot + 1));
+        } catch (IllegalArgumentException ex) {
+            throw new AdmissionDeniedException("Invalid admission token", false);
+        }
+        if (!MessageDigest.isEqual(sign(payload), signature)) {
+            throw new AdmissionDeniedException("Invalid admission token", false);
+        }
+        String[] parts = new String(payload, StandardCharsets.UTF_8).split("\n", -1);
+        if (parts.length != 3 || !parts[0].equals(eventId) || !parts[1].equals(userId)) {
+            throw new AdmissionDeniedException("Admission token was issued for another event or user", false);
+        }
+        if (Long.parseLong(parts[2]) < System.currentTimeMillis()) {
+            throw new AdmissionDeniedException("Admission token expired: rejoin the waiting room", true);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${seating.waiting-room.tick-ms:1000}")
+    public void admit() {
+        long now = System.currentTimeMillis();
+        double pace = pace();
+        for (Room room : rooms.values()) {
+            dropExpiredTickets(room, now);
+            long waiting = room.waiting();
+            if (waiting == 0) continue;
+
+            int free;
+            try {
+                free = availability.seats(room.eventId).freeCount(now);
+            } catch (EventNotFoundException ex) {
+                // opened for an id the catalog does not have; nothing to admit to
+                close(room.eventId);
+                continue;
+            }
+            long live = room.liveAdmissions(now - admissionTtlMs);
+            long budget = (long) Math.ceil(admitPerSecond * tickMs / 1000.0 * pace);
+            long n = Math.min(waiting, Math.min(budget, Math.max(0, (long) (free * oversubscription) - live)));
+            if (n > 0) room.admit(n, now);
+        }
+    }
+
+    // tickets join in seq order, so the unadmitted ones past their TTL are the head of the queue: skipping
+    // admittedThrough past them takes them out of waiting without counting them as admissions
+    private void dropExpiredTickets(Room room, long now) {
+        long expiredThrough = 0;
+        for (Iterator<Ticket> it = room.tickets.values().iterator(); it.hasNext(); ) {
+            Ticket t = it.next();
+            if (t.joinedAt < now - ticketTtlMs) {
+                it.remove();
+                expiredThrough = Math.max(expiredThrough, t.seq);
+            }
+        }
+        room.skipThrough(expiredThrough);
+    }
+
+    // 1.0 at or below the target reserve latency, proportionally less above it
+    private double pace() {
+        long latency = metrics.reserveLatencyMillis();
+        return latency <= targetLatencyMs ? 1.0 : (double) targetLatencyMs / latency;
+    }
+
+    private QueueTicketDto describe(String eventId, Room room, Ticket t) {
+        long now = System.currentTimeMillis();
+        QueueTicketDto dto = new QueueTicketDto();
+        dto.setTicketId(t.id);
+        dto.setEventId(eventId);
+        // only an open room's event is looked at: a join on any other id must not load it into the index
+        dto.setSoldOut(room != null && availability.seats(eventId).freeCount(now) == 0);
+        long ahead = room == null ? 0 : Math.max(0, t.seq - room.admittedThrough);
+        dto.setPosition(ahead);
+        dto.setAdmitted(ahead == 0);
+        if (ahead == 0) {
+            synchronized (t) {
+                if (t.token == null) {
+                    t.tokenExpiresAt = now + admissionTtlMs;
+                    t.token = token(eventId, t.userId, t.tokenExpiresAt);
+                }
+            }
+            dto.setAdmissionToken(t.token);
+            dto.setAdmissionExpiresAt(t.tokenExpiresAt);
+        } else {
+            dto.setEstimatedWaitMs((long) (ahead / (admitPerSecond * pace()) * 1000));
+        }
+        return dto;
+    }
+
+    private String token(String eventId, String userId, long expiresAt) {
+        byte[] payload = (eventId + "\n" + userId + "\n" + expiresAt).getBytes(StandardCharsets.UTF_8);
+        Base64.Encoder b64 = Base64.getUrlEncoder().withoutPadding();
+        return b64.encodeToString(payload) + "." + b64.encodeToString(sign(payload));
+    }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static final class Room {
+        final String eventId;
+        final AtomicLong issued = new AtomicLong();
+        final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+        // tickets with seq <= admittedThrough are admitted; only the tick thread advances it
+        volatile long admittedThrough;
+        // {admittedAtMillis, count} per tick that admitted anyone; tick thread only
+        final ArrayDeque<long[]> admissions = new ArrayDeque<>();
+
+        Room(String eventId) {
+            this.eventId = eventId;
+        }
+
+        long waiting() {
+            return issued.get() - admittedThrough;
+        }
+
+        void admit(long n, long now) {
+            admittedThrough += n;
+            admissions.addLast(new long[]{now, n});
+        }
+
+        void skipThrough(long seq) {
+            if (seq > admittedThrough) admittedThrough = seq;
+        }
+
+        long liveAdmissions(long since) {
+            while (!admissions.isEmpty() && admissions.peekFirst()[0] < since) admissions.removeFirst();
+            long live = 0;
+            for (long[] a : admissions) live += a[1];
+            return live;
+        }
+    }
+
+    private static final class Ticket {
+        final String id;
+        final String userId;
+        final long seq;
+        final long joinedAt;
+        String token;
+        long tokenExpiresAt;
+
+        Ticket(String id, String userId, long seq, long joinedAt) {
+            this.id = id;
+            this.userId = userId;
+            this.seq = seq;
+            this.joinedAt = joinedAt;
+        }
+    }
+}
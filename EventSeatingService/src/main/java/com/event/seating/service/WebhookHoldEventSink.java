@@ -0,0 +1,41 @@
+package com.event.seating.service;
+
+import com.event.seating.dto.HoldNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * POSTs each batch as one JSON array to seating.outbox.webhook.url; any non-2xx answer or I/O error
+ * fails the batch, which the dispatcher then retries.
+ */
+@Component
+@ConditionalOnProperty(name = "seating.outbox.sink", havingValue = "webhook")
+public class WebhookHoldEventSink implements HoldEventSink {
+
+    private final RestClient client;
+
+    public WebhookHoldEventSink(RestClient.Builder builder, @Value("${seating.outbox.webhook.url}") String url,
+                                @Value("${seating.outbox.webhook.timeout-ms:5000}") long timeoutMs) {
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(timeoutMs)).build();
+        JdkClientHttpRequestFactory requests = new JdkClientHttpRequestFactory(http);
+        requests.setReadTimeout(Duration.ofMillis(timeoutMs));
+        this.client = builder.baseUrl(url).requestFactory(requests).build();
+    }
+
+    @Override
+    public void deliver(List<HoldNotification> batch) {
+        client.post()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(batch)
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
@@ -0,0 +1,60 @@
+-- Converts the seat and hold id columns from VARCHAR(36) UUID text to BINARY(16) (MySQL 8.0+).
+--
+-- Run once, with every seating instance stopped, against a database last used by the VARCHAR(36)
+-- version; then start the BINARY(16) version (it refuses to start until event_seat.id is converted).
+-- Each column is converted in place, so primary keys, unique keys and indexes stay as they are:
+--   1. VARBINARY(36) keeps the text bytes, 2. UUID_TO_BIN packs them into 16 bytes, 3. BINARY(16) fixes the width.
+-- The old ids are random UUIDv4; they keep their text form through the API, new ids are UUIDv7.
+-- Take a backup first: a non-UUID value in any of these columns makes UUID_TO_BIN fail and stops the script.
+
+-- event_seat
+ALTER TABLE event_seat MODIFY id VARBINARY(36) NOT NULL;
+UPDATE event_seat SET id = UUID_TO_BIN(CAST(id AS CHAR));
+ALTER TABLE event_seat MODIFY id BINARY(16) NOT NULL;
+
+-- hold (one header row per hold token)
+ALTER TABLE hold MODIFY hold_token VARBINARY(36) NOT NULL;
+UPDATE hold SET hold_token = UUID_TO_BIN(CAST(hold_token AS CHAR));
+ALTER TABLE hold MODIFY hold_token BINARY(16) NOT NULL;
+
+-- seat_hold (seat lines of a hold)
+ALTER TABLE seat_hold
+    MODIFY id VARBINARY(36) NOT NULL,
+    MODIFY hold_token VARBINARY(36) NOT NULL,
+    MODIFY event_seat_id VARBINARY(36) NOT NULL;
+UPDATE seat_hold SET
+    id = UUID_TO_BIN(CAST(id AS CHAR)),
+    hold_token = UUID_TO_BIN(CAST(hold_token AS CHAR)),
+    event_seat_id = UUID_TO_BIN(CAST(event_seat_id AS CHAR));
+ALTER TABLE seat_hold
+    MODIFY id BINARY(16) NOT NULL,
+    MODIFY hold_token BINARY(16) NOT NULL,
+    MODIFY event_seat_id BINARY(16) NOT NULL;
+
+-- seat_claim (live claim per seat)
+ALTER TABLE seat_claim
+    MODIFY event_seat_id VARBINARY(36) NOT NULL,
+    MODIFY hold_token VARBINARY(36) NOT NULL;
+UPDATE seat_claim SET
+    event_seat_id = UUID_TO_BIN(CAST(event_seat_id AS CHAR)),
+    hold_token = UUID_TO_BIN(CAST(hold_token AS CHAR));
+ALTER TABLE seat_claim
+    MODIFY event_seat_id BINARY(16) NOT NULL,
+    MODIFY hold_token BINARY(16) NOT NULL;
+
+-- seat_hold_history (archived lines)
+ALTER TABLE seat_hold_history
+    MODIFY id VARBINARY(36) NOT NULL,
+    MODIFY hold_token VARBINARY(36) NOT NULL,
+    MODIFY event_seat_id VARBINARY(36) NOT NULL;
+UPDATE seat_hold_history SET
+    id = UUID_TO_BIN(CAST(id AS CHAR)),
+    hold_token = UUID_TO_BIN(CAST(hold_token AS CHAR)),
+    event_seat_id = UUID_TO_BIN(CAST(event_seat_id AS CHAR));
+ALTER TABLE seat_hold_history
+    MODIFY id BINARY(16) NOT NULL,
+    MODIFY hold_token BINARY(16) NOT NULL,
+    MODIFY event_seat_id BINARY(16) NOT NULL;
+
+-- the clustered indexes were rebuilt above; refresh the statistics the optimizer uses
+ANALYZE TABLE event_seat, hold, seat_hold, seat_claim, seat_hold_history;
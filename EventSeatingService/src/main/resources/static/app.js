@@ -59,6 +59,28 @@ async function loadSeats() {
   }
 }
 
+// Live seat map: snapshot first, then status deltas (holdToken/user are not streamed, reload for those)
+let seatStream = null;
+function watchSeats() {
+  const ev = document.getElementById('eventId').value.trim();
+  if (!ev || !window.EventSource) return;
+  if (seatStream) seatStream.close();
+  let seats = [];
+  seatStream = new EventSource(`${base}/v1/seating/events/${encodeURIComponent(ev)}/stream`);
+  seatStream.addEventListener('snapshot', e => { seats = JSON.parse(e.data); renderSeats(seats); });
+  seatStream.addEventListener('delta', e => {
+    const byId = new Map(seats.map(s => [s.eventSeatId, s]));
+    for (const d of JSON.parse(e.data)) {
+      const s = byId.get(d.eventSeatId);
+      if (!s) continue;
+      s.status = d.status;
+      s.holdExpiry = d.holdExpiry;
+      if (d.status === 'AVAILABLE') { s.holdToken = null; s.userId = null; }
+    }
+    renderSeats(seats);
+  });
+}
+
 async function loadHolds() {
   const ev = document.getElementById('eventId').value.trim();
   if (!ev) return;
@@ -186,7 +208,7 @@ function adminAllocatePrompt(token) {
 // wire buttons
 document.getElementById('btnLoadEvents').addEventListener('click', loadEvents);
 document.getElementById('btnAddEvent').addEventListener('click', addEvent);
-document.getElementById('btnLoadSeats').addEventListener('click', ()=>{ loadSeats(); loadHolds(); });
+document.getElementById('btnLoadSeats').addEventListener('click', ()=>{ loadSeats(); loadHolds(); watchSeats(); });
 document.getElementById('btnLoadStats').addEventListener('click', loadStats);
 document.getElementById('btnReserve').addEventListener('click', reserveSeats);
 document.getElementById('btnAllocate').addEventListener('click', allocate);
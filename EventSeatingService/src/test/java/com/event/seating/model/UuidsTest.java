@@ -0,0 +1,87 @@
+package com.event.seating.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class UuidsTest {
+
+    @Test
+    void v7CarriesTimeVersionAndVariant() {
+        long millis = 0x0192_3456_789AL;
+        UUID u = Uuids.v7(millis);
+
+        assertThat(u.getMostSignificantBits() >>> 16).isEqualTo(millis);
+        assertThat(u.version()).isEqualTo(7);
+        assertThat(u.variant()).isEqualTo(2);
+    }
+
+    @Test
+    void laterIdsSortAfterEarlierOnes() {
+        String earlier = Uuids.v7(1_700_000_000_000L).toString();
+        String later = Uuids.v7(1_700_000_000_001L).toString();
+
+        assertThat(later).isGreaterThan(earlier);
+        assertThat(Uuids.toBytes(later)).isNotEqualTo(Uuids.toBytes(earlier));
+    }
+
+    @Test
+    void bytesRoundTrip() {
+        String id = Uuids.newId();
+        byte[] b = Uuids.toBytes(id);
+
+        assertThat(b).hasSize(16);
+        assertThat(Uuids.fromBytes(b)).isEqualTo(id);
+        // ids from before the switch are v4 and convert the same way
+        String v4 = UUID.randomUUID().toString();
+        assertThat(Uuids.fromBytes(Uuids.toBytes(v4))).isEqualTo(v4);
+    }
+
+    @Test
+    void rejectsMalformedIds() {
+        assertThat(Uuids.isValid("not-a-uuid")).isFalse();
+        assertThat(Uuids.isValid("0192345g-789a-7000-8000-000000000000")).isFalse();
+        assertThatThrownBy(() -> Uuids.toBytes("A1")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Uuids.fromBytes(new byte[15])).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void binaryUuidTypeWritesAndReadsSixteenBytes() throws Exception {
+        BinaryUuidType type = new BinaryUuidType();
+        String id = Uuids.newId();
+
+        PreparedStatement st = mock(PreparedStatement.class);
+        type.nullSafeSet(st, id, 1, null);
+        ArgumentCaptor<byte[]> written = ArgumentCaptor.forClass(byte[].class);
+        verify(st).setBytes(eq(1), written.capture());
+        assertThat(written.getValue()).hasSize(16);
+
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getBytes(anyInt())).thenReturn(written.getValue());
+        assertThat(type.nullSafeGet(rs, 1, null, null)).isEqualTo(id);
+    }
+
+    @Test
+    void binaryUuidTypeKeepsNulls() throws Exception {
+        BinaryUuidType type = new BinaryUuidType();
+
+        PreparedStatement st = mock(PreparedStatement.class);
+        type.nullSafeSet(st, null, 2, null);
+        verify(st).setNull(2, Types.BINARY);
+
+        ResultSet rs = mock(ResultSet.class);
+        assertThat(type.nullSafeGet(rs, 1, null, null)).isNull();
+    }
+}
@@ -0,0 +1,108 @@
+package com.event.seating.scheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.event.seating.model.Hold;
+import com.event.seating.repository.HoldRepository;
+import com.event.seating.repository.HoldSeatView;
+import com.event.seating.repository.SeatClaimRepository;
+import com.event.seating.repository.SeatHoldRepository;
+import com.event.seating.service.HoldOutbox;
+import com.event.seating.service.SeatAvailabilityIndex;
+import com.event.seating.service.SeatStatusChangedEvent;
+import com.event.seating.service.SeatingMetrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Expiry against a concurrent allocate: only the tokens still HOLD once their headers are locked are released.
+ */
+class HoldExpirySchedulerTest {
+
+    private final SeatHoldRepository holdRepo = mock(SeatHoldRepository.class);
+    private final HoldRepository headerRepo = mock(HoldRepository.class);
+    private final SeatClaimRepository claimRepo = mock(SeatClaimRepository.class);
+    private final HoldExpiryQueue queue = new HoldExpiryQueue();
+    private final ApplicationEventPublisher events = mock(ApplicationEventPublisher.class);
+    private final HoldOutbox outbox = mock(HoldOutbox.class);
+    private final HoldExpiryScheduler scheduler = new HoldExpiryScheduler(holdRepo, headerRepo, claimRepo, queue, events,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)),
+            new SeatingMetrics(new SimpleMeterRegistry(), mock(SeatAvailabilityIndex.class), queue), outbox, 10, 0);
+
+    @Test
+    void releasesOnlyTheTokensItLocked() {
+        // "allocated" was allocated between the drain and the lock, so the lock query leaves it out
+        when(headerRepo.lockExpired(eq(Set.of("expired", "allocated")), any())).thenReturn(List.of(hold("expired")));
+        List<HoldSeatView> lines = List.of(line("expired"));
+        when(holdRepo.findExpiredByHoldTokenIn(eq(Set.of("expired")), any())).thenReturn(lines);
+        when(headerRepo.releaseExpired(eq(Set.of("expired")), any())).thenReturn(1);
+
+        assertThat(scheduler.release(Set.of("expired", "allocated"))).isEqualTo(1);
+
+        verify(claimRepo).deleteByHoldTokenIn(Set.of("expired"));
+        verify(outbox).recordAll(any(), eq(lines));
+        verify(events).publishEvent(any(SeatStatusChangedEvent.class));
+    }
+
+    @Test
+    void nothingLockedNothingReleased() {
+        when(headerRepo.lockExpired(anyCollection(), any())).thenReturn(List.of());
+
+        assertThat(scheduler.release(Set.of("allocated"))).isZero();
+
+        verify(headerRepo, never()).releaseExpired(anyCollection(), any());
+        verify(claimRepo, never()).deleteByHoldTokenIn(anyCollection());
+    }
+
+    @Test
+    void failsWhenTheUpdateDisagreesWithTheLock() {
+        when(headerRepo.lockExpired(anyCollection(), any())).thenReturn(List.of(hold("a"), hold("b")));
+        when(headerRepo.releaseExpired(anyCollection(), any())).thenReturn(1);
+
+        assertThatThrownBy(() -> scheduler.release(Set.of("a", "b"))).isInstanceOf(IllegalStateException.class);
+
+        verify(claimRepo, never()).deleteByHoldTokenIn(anyCollection());
+    }
+
+    @Test
+    void requeuesDrainedTokensWhenTheReleaseFails() {
+        queue.schedule("a", OffsetDateTime.now().minusSeconds(1));
+        when(headerRepo.lockExpired(anyCollection(), any())).thenThrow(new IllegalStateException("lock wait timeout"));
+
+        scheduler.drainDueHolds();
+
+        assertThat(queue.size()).isEqualTo(1);
+        assertThat(queue.drainDue(10)).containsExactly("a");
+    }
+
+    private static Hold hold(String token) {
+        Hold h = new Hold();
+        h.setHoldToken(token);
+        return h;
+    }
+
+    private static HoldSeatView line(String token) {
+        HoldSeatView v = mock(HoldSeatView.class);
+        when(v.getHoldToken()).thenReturn(token);
+        when(v.getEventId()).thenReturn("E1");
+        when(v.getHoldExpiry()).thenReturn(OffsetDateTime.now().minusSeconds(1));
+        return v;
+    }
+}
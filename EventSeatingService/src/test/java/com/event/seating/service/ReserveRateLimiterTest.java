@@ -0,0 +1,89 @@
+package com.event.seating.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import org.junit.jupiter.api.Test;
+
+import com.event.seating.scheduler.HoldExpiryQueue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ReserveRateLimiterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SeatingMetrics metrics =
+            new SeatingMetrics(registry, mock(SeatAvailabilityIndex.class), new HoldExpiryQueue());
+
+    @Test
+    void burstThenOneTokenPerInterval() throws Exception {
+        // 2 per second: one token every 500 ms, burst of 2
+        ReserveRateLimiter limiter = new ReserveRateLimiter(metrics, 2, 2, 1000, 1000, 100);
+
+        limiter.acquire("E1", "u1");
+        limiter.acquire("E1", "u1");
+        assertThatThrownBy(() -> limiter.acquire("E1", "u1"))
+                .isInstanceOfSatisfying(RateLimitExceededException.class,
+                        ex -> assertThat(ex.getRetryAfterSeconds()).isEqualTo(1));
+
+        Thread.sleep(600);
+        limiter.acquire("E1", "u1");
+        assertThatThrownBy(() -> limiter.acquire("E1", "u1")).isInstanceOf(RateLimitExceededException.class);
+        assertThat(registry.counter("seating.reserve.rate.limited", "reason", "user").count()).isEqualTo(2);
+    }
+
+    @Test
+    void refusalByTheEventBucketLeavesTheUserTokenAlone() {
+        // one token per user and per event, refilled only after ~17 minutes
+        ReserveRateLimiter limiter = new ReserveRateLimiter(metrics, 0.001, 1, 0.001, 1, 100);
+
+        limiter.acquire("E1", "u1");
+        assertThatThrownBy(() -> limiter.acquire("E1", "u2"))
+                .isInstanceOf(RateLimitExceededException.class)
+                .hasMessageContaining("event");
+
+        limiter.acquire("E2", "u2");
+        assertThat(registry.counter("seating.reserve.rate.limited", "reason", "event").count()).isEqualTo(1);
+    }
+
+    @Test
+    void refusalByTheUserBucketLeavesTheEventTokenAlone() {
+        ReserveRateLimiter limiter = new ReserveRateLimiter(metrics, 0.001, 1, 0.001, 1, 100);
+
+        limiter.acquire("E1", "u1");
+        assertThatThrownBy(() -> limiter.acquire("E2", "u1")).hasMessageContaining("user");
+
+        limiter.acquire("E2", "u2");
+    }
+
+    @Test
+    void capsLiveSeatsPerUserAndEvent() {
+        ReserveRateLimiter limiter = new ReserveRateLimiter(metrics, 1000, 1000, 1000, 1000, 5);
+        long expiry = System.currentTimeMillis() + 60_000;
+
+        limiter.holdStarted("E1", "u1", "h1", 2, expiry);
+        limiter.holdStarted("E1", "u1", "h2", 3, expiry);
+        assertThatThrownBy(() -> limiter.holdStarted("E1", "u1", "h3", 1, expiry)).hasMessageContaining("held seats");
+        limiter.holdStarted("E2", "u1", "h4", 5, expiry);
+
+        // one hold of many seats counts in full
+        assertThatThrownBy(() -> limiter.holdStarted("E1", "u2", "h5", 6, expiry)).hasMessageContaining("held seats");
+
+        limiter.holdEnded("h1");
+        limiter.holdStarted("E1", "u1", "h3", 2, expiry);
+    }
+
+    @Test
+    void purgeKeepsHoldsThatAreStillLive() {
+        ReserveRateLimiter limiter = new ReserveRateLimiter(metrics, 1000, 1000, 1000, 1000, 1);
+
+        limiter.holdStarted("E1", "u1", "h1", 1, System.currentTimeMillis() + 60_000);
+        limiter.holdStarted("E1", "u2", "h2", 1, System.currentTimeMillis() - 1);
+        limiter.purge();
+
+        assertThatThrownBy(() -> limiter.holdStarted("E1", "u1", "h3", 1, System.currentTimeMillis() + 60_000))
+                .hasMessageContaining("held seats");
+        limiter.holdStarted("E1", "u2", "h4", 1, System.currentTimeMillis() + 60_000);
+    }
+}
@@ -0,0 +1,125 @@
+package com.event.seating.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.event.seating.model.EventSeat;
+
+class SeatAvailabilityIndexTest {
+
+    private static final long NOW = 1_000_000L;
+    private static final long LATER = NOW + 60_000;
+
+    // row A: 1-3, then a gap, then 5-7; row B: 1-4 (already in layout order)
+    private final SeatAvailabilityIndex.EventSeats seats = new SeatAvailabilityIndex.EventSeats(List.of(
+            seat("A", 1), seat("A", 2), seat("A", 3), seat("A", 5), seat("A", 6), seat("A", 7),
+            seat("B", 1), seat("B", 2), seat("B", 3), seat("B", 4)));
+
+    @Test
+    void blockNeverSpansAGapInSeatNumbers() {
+        // A3 and A5 sit next to each other by ordinal but not in the venue
+        assertThat(codes(seats.findContiguous(4, NOW, o -> true))).containsExactly("B1", "B2", "B3", "B4");
+    }
+
+    @Test
+    void blockNeverSpansTwoRows() {
+        hold("B2");
+        hold("A1");
+        // A5, A6, A7 and B1 are four free seats with consecutive ordinals, but not in one row
+        assertThat(seats.findContiguous(4, NOW, o -> true)).isNull();
+    }
+
+    @Test
+    void prefersTheBlockNearestTheRowCentreInTheFirstRowThatFits() {
+        // row A's centre is between A3 and A5; that pair crosses the gap, A2-A3 and A5-A6 tie and the first wins
+        assertThat(codes(seats.findContiguous(2, NOW, o -> true))).containsExactly("A2", "A3");
+        hold("A2");
+        assertThat(codes(seats.findContiguous(2, NOW, o -> true))).containsExactly("A5", "A6");
+    }
+
+    @Test
+    void takenAndIneligibleSeatsAreSkipped() {
+        hold("A2");
+        assertThat(codes(seats.findContiguous(3, NOW, o -> true))).containsExactly("A5", "A6", "A7");
+        assertThat(codes(seats.findContiguous(3, NOW, o -> !seats.seat(o).getSeatCode().equals("A6"))))
+                .containsExactly("B1", "B2", "B3");
+    }
+
+    @Test
+    void expiredHoldsAreFreeForSearch() {
+        take("A5", NOW - 1);
+        take("A6", NOW - 1);
+        take("A7", NOW - 1);
+        hold("A1");
+        assertThat(codes(seats.findContiguous(3, NOW, o -> true))).containsExactly("A5", "A6", "A7");
+    }
+
+    @Test
+    void packsTwoBitsPerSeat() {
+        take("A2", LATER);
+        take("A3", SeatAvailabilityIndex.ALLOCATED);
+        take("A5", NOW - 1);
+        take("B4", SeatAvailabilityIndex.ALLOCATED);
+
+        List<long[]> holds = new ArrayList<>();
+        byte[] bits = seats.packStatus(NOW, (ordinal, expiresAt) -> holds.add(new long[]{ordinal, expiresAt}));
+
+        assertThat(bits).hasSize(3);
+        // ordinals 0-3: free, held, allocated, expired hold (free)
+        assertThat(bits[0]).isEqualTo((byte) (1 << 2 | 2 << 4));
+        assertThat(bits[1]).isZero();
+        // ordinal 9 is the second seat of the last byte
+        assertThat(bits[2]).isEqualTo((byte) (2 << 2));
+        assertThat(holds).singleElement().satisfies(h -> assertThat(h).containsExactly(1, LATER));
+    }
+
+    @Test
+    void sectionCountersFollowSlotChanges() {
+        take("A1", LATER);
+        take("A2", LATER);
+        take("A2", SeatAvailabilityIndex.ALLOCATED);
+        // a late release of a hold that is no longer on the seat changes nothing
+        seats.clear(id("A2"), LATER);
+
+        int a = seats.sections().indexOf("A");
+        assertThat(seats.sectionTotal(a)).isEqualTo(6);
+        assertThat(seats.sectionHeld(a)).isEqualTo(1);
+        assertThat(seats.sectionAllocated(a)).isEqualTo(1);
+
+        seats.clear(id("A1"), LATER);
+        assertThat(seats.sectionHeld(a)).isZero();
+    }
+
+    private void hold(String code) {
+        take(code, LATER);
+    }
+
+    private void take(String code, long slot) {
+        seats.set(id(code), slot);
+    }
+
+    private String id(String code) {
+        return seats.seat(seats.ordinalOf(code)).getId();
+    }
+
+    private List<String> codes(int[] ordinals) {
+        List<String> out = new ArrayList<>();
+        for (int o : ordinals) out.add(seats.seat(o).getSeatCode());
+        return out;
+    }
+
+    private static EventSeat seat(String row, int number) {
+        EventSeat s = new EventSeat();
+        s.setId(row + "-" + number);
+        s.setEventId("E1");
+        s.setSeatCode(row + number);
+        s.setSection(row);
+        s.setRowLabel(row);
+        s.setSeatNumber(number);
+        return s;
+    }
+}
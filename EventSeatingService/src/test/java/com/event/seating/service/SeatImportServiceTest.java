@@ -0,0 +1,102 @@
+package com.event.seating.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.event.seating.dto.SeatImportResult;
+import com.event.seating.model.EventSeat;
+import com.event.seating.model.Events;
+import com.event.seating.repository.EventSeatRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class SeatImportServiceTest {
+
+    private final EventSeatRepository seatRepo = mock(EventSeatRepository.class);
+    private final CatalogCache catalog = mock(CatalogCache.class);
+    private final ApplicationEventPublisher events = mock(ApplicationEventPublisher.class);
+    private final SeatImportService service = new SeatImportService(seatRepo, catalog, new ObjectMapper(), events, 2);
+    private final List<List<EventSeat>> batches = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(catalog.event("E1")).thenReturn(Optional.of(new Events()));
+        when(seatRepo.findSeatCodesByEventId("E1")).thenReturn(List.of("C24-13"));
+        // the importer reuses its batch list once written, so keep a copy of each
+        doAnswer(inv -> batches.add(new ArrayList<>(inv.<List<EventSeat>>getArgument(0))))
+                .when(seatRepo).insertAll(anyList());
+    }
+
+    @Test
+    void derivesCodesFromSourceColumnsAndFiltersBySourceEvent() {
+        String csv = "event_id,section,row,seat_number,price\n"
+                + "1,C,24,12,150.50\n"
+                + "1,C,24,13,150.50\n"     // already imported
+                + "2,C,24,14,150.50\n"     // another event in the source file
+                + "1,\"Upper, East\",24,15,99\n"
+                + "\n"
+                + "1,C,24,x,10\n"          // bad seat number
+                + "1,D,1,1,\n";
+
+        SeatImportResult r = service.importSeats("E1", body(csv), SeatImportService.Format.CSV, "1");
+
+        assertThat(r.getRowsRead()).isEqualTo(5);
+        assertThat(r.getInserted()).isEqualTo(3);
+        assertThat(r.getDuplicates()).isEqualTo(1);
+        assertThat(r.getInvalid()).isEqualTo(1);
+        assertThat(r.getBatches()).isEqualTo(2);
+        assertThat(batches).extracting(List::size).containsExactly(2, 1);
+
+        List<EventSeat> seats = batches.stream().flatMap(List::stream).toList();
+        assertThat(seats).extracting(EventSeat::getSeatCode).containsExactly("C24-12", "Upper, East24-15", "D1-1");
+        assertThat(seats.get(0).getPrice()).isEqualByComparingTo("150.50");
+        assertThat(seats.get(2).getPrice()).isEqualByComparingTo(BigDecimal.valueOf(250));
+        assertThat(seats).allSatisfy(s -> assertThat(s.getEventId()).isEqualTo("E1"));
+        verify(events).publishEvent(any(SeatLayoutChangedEvent.class));
+    }
+
+    @Test
+    void explicitSeatCodesAndNumbering() {
+        when(seatRepo.findMaxSeatNumber("E1")).thenReturn(7);
+        String csv = "seatCode,section\nZ1,Floor\nZ2,Floor\n";
+
+        SeatImportResult r = service.importSeats("E1", body(csv), SeatImportService.Format.CSV, null);
+
+        assertThat(r.getInserted()).isEqualTo(2);
+        assertThat(batches.get(0)).extracting(EventSeat::getSeatNumber).containsExactly(8, 9);
+    }
+
+    @Test
+    void needsASeatCodeOrNumberColumn() {
+        assertThatThrownBy(() -> service.importSeats("E1", body("section,row\nA,1\n"), SeatImportService.Format.CSV, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(seatRepo, never()).insertAll(anyList());
+        verify(events, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void splitsQuotedFields() {
+        assertThat(SeatImportService.splitCsv("a,\"b,c\",\"d\"\"e\",")).containsExactly("a", "b,c", "d\"e", "");
+    }
+
+    private static ByteArrayInputStream body(String s) {
+        return new ByteArrayInputStream(s.getBytes(StandardCharsets.UTF_8));
+    }
+}
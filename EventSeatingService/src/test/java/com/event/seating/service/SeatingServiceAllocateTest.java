@@ -0,0 +1,105 @@
+package com.event.seating.service;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.event.seating.dto.AllocateRequest;
+import com.event.seating.model.SeatHoldStatus;
+import com.event.seating.model.Uuids;
+import com.event.seating.repository.EventSeatRepository;
+import com.event.seating.repository.EventsRepository;
+import com.event.seating.repository.HoldRepository;
+import com.event.seating.repository.HoldSeatView;
+import com.event.seating.repository.SeatClaimRepository;
+import com.event.seating.repository.SeatHoldHistoryRepository;
+import com.event.seating.repository.SeatHoldRepository;
+import com.event.seating.scheduler.HoldExpiryQueue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Allocate against a concurrent expiry: its checks read without locks, so only the header UPDATE decides.
+ */
+class SeatingServiceAllocateTest {
+
+    private final SeatHoldRepository holdRepo = mock(SeatHoldRepository.class);
+    private final HoldRepository headerRepo = mock(HoldRepository.class);
+    private final SeatClaimRepository claimRepo = mock(SeatClaimRepository.class);
+    private final ApplicationEventPublisher events = mock(ApplicationEventPublisher.class);
+    private final IdempotencyStore idempotency = mock(IdempotencyStore.class);
+    private final ReserveRateLimiter rateLimiter = mock(ReserveRateLimiter.class);
+    private final HoldOutbox outbox = mock(HoldOutbox.class);
+    private final String token = Uuids.newId();
+    private SeatingService service;
+
+    @BeforeEach
+    void setUp() {
+        SeatingMetrics metrics = new SeatingMetrics(new SimpleMeterRegistry(), mock(SeatAvailabilityIndex.class),
+                new HoldExpiryQueue());
+        service = new SeatingService(mock(EventSeatRepository.class), holdRepo, headerRepo,
+                mock(SeatHoldHistoryRepository.class), mock(EventsRepository.class), mock(CatalogCache.class),
+                claimRepo, mock(SeatAvailabilityIndex.class), new EventSequencer(1000, 16), new HoldExpiryQueue(),
+                events, new TransactionTemplate(mock(PlatformTransactionManager.class)), metrics, idempotency,
+                mock(WaitingRoom.class), rateLimiter, outbox, new MockEnvironment());
+
+        HoldSeatView line = mock(HoldSeatView.class);
+        when(line.getHoldToken()).thenReturn(token);
+        when(line.getEventId()).thenReturn("E1");
+        when(line.getEventSeatId()).thenReturn(Uuids.newId());
+        when(line.getUserId()).thenReturn("u1");
+        when(line.getStatus()).thenReturn(SeatHoldStatus.HOLD);
+        // still live when allocate reads it; the expiry scheduler may release it before the UPDATE
+        when(line.getHoldExpiry()).thenReturn(OffsetDateTime.now().plusSeconds(1));
+        when(headerRepo.findEventIdByHoldToken(token)).thenReturn(Optional.of("E1"));
+        when(holdRepo.findHoldSeatsByHoldToken(token)).thenReturn(List.of(line));
+    }
+
+    @Test
+    void losingTheRaceToExpiryAllocatesNothing() {
+        when(headerRepo.allocate(eq(token), eq("o1"), any())).thenReturn(0);
+
+        assertThatThrownBy(() -> service.allocate(request()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Hold expired");
+
+        verify(claimRepo, never()).markAllocated(anyString());
+        verifyNoInteractions(events, outbox, rateLimiter);
+        verify(idempotency, never()).save(any(), any(), any(), any());
+    }
+
+    @Test
+    void winningTheRaceAllocatesClaimsAndNotifies() {
+        when(headerRepo.allocate(eq(token), eq("o1"), any())).thenReturn(1);
+
+        service.allocate(request());
+
+        verify(claimRepo).markAllocated(token);
+        verify(events).publishEvent(any(SeatStatusChangedEvent.class));
+        verify(rateLimiter).holdEnded(token);
+    }
+
+    private AllocateRequest request() {
+        AllocateRequest req = new AllocateRequest();
+        req.setHoldToken(token);
+        req.setOrderId("o1");
+        return req;
+    }
+}
@@ -0,0 +1,135 @@
+#!/usr/bin/env node
+
+// Compares platform-thread and virtual-thread request handling of event-seating-service and user-service.
+//
+//   JAVA_VERSION=21 VIRTUAL_THREADS_ENABLED=false docker compose up -d --build
+//   node scripts/threading-benchmark.js --label=platform
+//   JAVA_VERSION=21 VIRTUAL_THREADS_ENABLED=true docker compose up -d --build
+//   node scripts/threading-benchmark.js --label=virtual
+//   node scripts/threading-benchmark.js --compare threading-platform.json threading-virtual.json
+//
+// Both runs need the Java 21 images: on 17 the virtual-thread switch is ignored.
+// Add JAVA_TOOL_OPTIONS=-Djdk.tracePinnedThreads=short to a service to log carrier pinning in the virtual run.
+// The seating run reserves on one event far above its reserve rate limit; start the service with
+// SEATING_RATELIMIT_EVENT_PERSECOND=1000000 (and the same for SEATING_RATELIMIT_USER_PERSECOND) or expect 429s.
+
+const axios = require('axios');
+const http = require('http');
+const fs = require('fs');
+const { v4: uuidv4 } = require('uuid');
+
+const args = Object.fromEntries(process.argv.slice(2)
+  .filter((a) => a.startsWith('--') && a.includes('='))
+  .map((a) => a.slice(2).split(/=(.*)/s).slice(0, 2)));
+
+const opts = {
+  label: args.label || 'run',
+  seating: args.seating || 'http://localhost:4000',
+  user: args.user || 'http://localhost:8080',
+  concurrency: Number(args.concurrency || 1000),
+  requests: Number(args.requests || 20000),
+  seats: Number(args.seats || 5000),
+};
+
+const agent = new http.Agent({ keepAlive: true, maxSockets: opts.concurrency });
+const client = axios.create({ httpAgent: agent, timeout: 60000, validateStatus: () => true });
+
+// runs `total` calls of fn with `concurrency` in flight; returns latencies and status counts
+async function load(name, total, fn) {
+  const latencies = [];
+  const statuses = {};
+  let next = 0;
+  const started = process.hrtime.bigint();
+  const worker = async () => {
+    while (next < total) {
+      const i = next++;
+      const t0 = process.hrtime.bigint();
+      let status;
+      try {
+        status = (await fn(i)).status;
+      } catch (err) {
+        status = err.code || 'error';
+      }
+      latencies.push(Number(process.hrtime.bigint() - t0) / 1e6);
+      statuses[status] = (statuses[status] || 0) + 1;
+    }
+  };
+  await Promise.all(Array.from({ length: opts.concurrency }, worker));
+  const elapsedSec = Number(process.hrtime.bigint() - started) / 1e9;
+  latencies.sort((a, b) => a - b);
+  const pct = (p) => latencies[Math.min(latencies.length - 1, Math.ceil(p * latencies.length) - 1)];
+  const result = {
+    requests: total,
+    elapsedSec,
+    throughput: total / elapsedSec,
+    p50Ms: pct(0.5),
+    p99Ms: pct(0.99),
+    p999Ms: pct(0.999),
+    statuses,
+  };
+  console.log(`${name}:`, result);
+  return result;
+}
+
+async function seedSeating(eventId) {
+  await client.post(`${opts.seating}/v1/seating/events`, { eventId, eventName: `Threading ${opts.label}` });
+  const seats = Array.from({ length: opts.seats }, (_, i) => JSON.stringify({ seatCode: `T${i}` })).join('\n');
+  const res = await client.post(`${opts.seating}/v1/seating/events/${eventId}/seats/import`, seats,
+    { headers: { 'Content-Type': 'application/x-ndjson' } });
+  console.log('Seeded seating event:', res.data);
+}
+
+async function run() {
+  const eventId = `threading-${opts.label}-${Date.now()}`;
+  await seedSeating(eventId);
+
+  const results = { label: opts.label, concurrency: opts.concurrency };
+
+  // reserve + release of random seats: DB-bound, one sequencer per event
+  results.seatingReserveRelease = await load('seating reserve+release', opts.requests, async () => {
+    const seatCode = `T${Math.floor(Math.random() * opts.seats)}`;
+    const res = await client.post(`${opts.seating}/v1/seating/reserve`,
+      { eventId, userId: uuidv4(), seatCodes: [seatCode] });
+    if (res.status === 200) {
+      await client.post(`${opts.seating}/v1/seating/release`, { holdToken: res.data.holdToken });
+    }
+    return res;
+  });
+
+  // seat map reads: served from the snapshot cache
+  results.seatingSeatMap = await load('seating seat map', opts.requests, () =>
+    client.get(`${opts.seating}/v1/seating/events/${eventId}`));
+
+  // register: BCrypt + insert
+  const password = 'Threading#123';
+  results.userRegister = await load('user register', Math.min(opts.requests, 5000), (i) =>
+    client.post(`${opts.user}/api/users/register`, {
+      name: `Load ${i}`, email: `${opts.label}-${Date.now()}-${i}@load.test`, password, phone: '9999999999',
+    }));
+
+  const file = `threading-${opts.label}.json`;
+  fs.writeFileSync(file, JSON.stringify(results, null, 2));
+  console.log(`Results written to ${file}`);
+}
+
+function compare(a, b) {
+  const [x, y] = [a, b].map((f) => JSON.parse(fs.readFileSync(f, 'utf8')));
+  const rows = [];
+  for (const key of Object.keys(x).filter((k) => typeof x[k] === 'object')) {
+    for (const m of ['throughput', 'p50Ms', 'p99Ms', 'p999Ms']) {
+      rows.push({ scenario: key, metric: m, [x.label]: x[key][m].toFixed(1), [y.label]: y[key][m].toFixed(1),
+        change: `${(((y[key][m] - x[key][m]) / x[key][m]) * 100).toFixed(1)}%` });
+    }
+  }
+  console.table(rows);
+}
+
+if (process.argv.includes('--compare')) {
+  const i = process.argv.indexOf('--compare');
+  compare(process.argv[i + 1], process.argv[i + 2]);
+} else {
+  run().catch((err) => {
+    console.error(err.message);
+    process.exit(1);
+  });
+}